@@ -0,0 +1,274 @@
+package game.deck;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import game.util.RandomSource;
+
+/**
+ * Represents a standard deck of playing cards held as card indices in a fixed array.
+ *
+ * <p>The remaining cards occupy the array between a cursor and an end position, and every card
+ * outside that range is marked in a dead card mask. Drawing advances the cursor and removing a
+ * known card swaps it past the end, both in constant time. Shuffling is done one draw at a
+ * time: each draw from the top first swaps a random remaining card into place, so only the cards
+ * actually drawn are ever shuffled.</p>
+ *
+ * <p>A deck given a {@link ShuffleSupply} instead takes a ready shuffled order from it on every
+ * shuffle and draws from the top without further random swaps. When the supply has no order
+ * ready the deck shuffles one draw at a time as usual.</p>
+ *
+ * <p>A forked deck shares the card arrays of the deck it came from until either of them
+ * reorders its cards, at which point that deck takes its own copy.</p>
+ */
+public class ArrayDeck implements Deck {
+  private static final long FULL_DECK = (1L << Card.DECK_SIZE) - 1;
+
+  private int[] order;
+  private int[] positions;
+  private boolean shared;
+  private int cursor;
+  private int end;
+  private long dead;
+  private boolean ordered;
+  private final RandomSource rand;
+  private final ShuffleSupply supply;
+
+  /**
+   * Constructs a randomly ordered deck.
+   */
+  public ArrayDeck() {
+    this(RandomSource.create());
+  }
+
+  /**
+   * Constructs a deck with a random seed.
+   * @param seed the desired random seed
+   */
+  public ArrayDeck(int seed) {
+    this(RandomSource.seeded(seed));
+  }
+
+  /**
+   * Constructs a randomly ordered deck without the given cards.
+   * @param known the cards to leave out
+   */
+  public ArrayDeck(List<Card> known) {
+    this(RandomSource.create());
+    removeKnown(known);
+  }
+
+  /**
+   * Constructs a deck drawing its random order from a random source.
+   * @param rand the random source
+   */
+  public ArrayDeck(RandomSource rand) {
+    this(rand, null);
+  }
+
+  /**
+   * Constructs a deck taking its shuffled orders from a supply when one is ready.
+   * @param rand the random source to shuffle with when the supply has no order ready
+   * @param supply the supply of shuffled orders, or null to always shuffle by itself
+   */
+  public ArrayDeck(RandomSource rand, ShuffleSupply supply) {
+    this.order = new int[Card.DECK_SIZE];
+    this.positions = new int[Card.DECK_SIZE];
+    for (int i = 0; i < Card.DECK_SIZE; i++) {
+      order[i] = i;
+      positions[i] = i;
+    }
+
+    this.rand = rand;
+    this.supply = supply;
+    shuffle();
+  }
+
+  /**
+   * Constructs a deck sharing the cards of another deck.
+   * @param other the deck to share with
+   */
+  private ArrayDeck(ArrayDeck other) {
+    this.order = other.order;
+    this.positions = other.positions;
+    this.cursor = other.cursor;
+    this.end = other.end;
+    this.dead = other.dead;
+    this.rand = other.rand.split();
+    this.supply = null;
+    this.shared = true;
+    other.shared = true;
+  }
+
+  @Override
+  public void shuffle() {
+    cursor = 0;
+    end = Card.DECK_SIZE;
+    dead = 0;
+    ordered = false;
+
+    byte[] shuffled = supply == null ? null : supply.poll();
+    if (shuffled != null) {
+      if (shared) {
+        order = new int[Card.DECK_SIZE];
+        positions = new int[Card.DECK_SIZE];
+        shared = false;
+      }
+
+      for (int i = 0; i < Card.DECK_SIZE; i++) {
+        order[i] = shuffled[i];
+        positions[shuffled[i]] = i;
+      }
+      ordered = true;
+    }
+  }
+
+  @Override
+  public List<Hand> dealCards(int players, int amount) {
+
+    if (players < 1) {
+      throw new IllegalArgumentException("No players to deal");
+    }
+
+    if (players * amount > Card.DECK_SIZE) {
+      throw new IllegalArgumentException("Too many players and cards to deal");
+    }
+
+    List<Hand> allHands = new ArrayList<>(players);
+    for (int i = 0; i < players; i++) {
+      allHands.add(new Hand());
+    }
+
+    for (int n = 0; n < amount; n++) {
+      for (Hand hand : allHands) {
+        hand.addCard(drawCard());
+      }
+    }
+
+    return allHands;
+  }
+
+  @Override
+  public Card drawCard() {
+    if (remainingCards() < 1) {
+      throw new IllegalArgumentException("No more cards to draw");
+    }
+
+    if (!ordered) {
+      swap(cursor, cursor + rand.nextInt(end - cursor));
+    }
+
+    return take();
+  }
+
+  @Override
+  public Card drawAtPosition(int position) {
+    if (position < 0 || position >= remainingCards()) {
+      throw new IllegalArgumentException("Can't draw at that position");
+    }
+
+    swap(cursor, cursor + position);
+    return take();
+  }
+
+  @Override
+  public void burnCards(int amount) {
+    if (remainingCards() < 1) {
+      throw new IllegalArgumentException("No more cards to burn");
+    }
+    if (amount > remainingCards()) {
+      throw new IllegalArgumentException("Too many cards to burn");
+    }
+
+    for (int n = 0; n < amount; n++) {
+      drawCard();
+    }
+  }
+
+  @Override
+  public int remainingCards() {
+    return end - cursor;
+  }
+
+  @Override
+  public List<Card> allCards() {
+    List<Card> cards = new ArrayList<>(remainingCards());
+    for (int i = cursor; i < end; i++) {
+      cards.add(Card.of(order[i]));
+    }
+
+    return cards;
+  }
+
+  @Override
+  public void removeKnown(List<Card> known) {
+    for (Card card : known) {
+      int index = card.getIndex();
+      if ((dead & (1L << index)) == 0) {
+        swap(positions[index], --end);
+        dead |= 1L << index;
+      }
+    }
+  }
+
+  @Override
+  public void setStreamCards(List<Card> content) {
+    cursor = 0;
+    end = 0;
+    dead = FULL_DECK;
+    ordered = false;
+    for (Card card : content) {
+      int index = card.getIndex();
+      if ((dead & (1L << index)) != 0) {
+        swap(positions[index], end++);
+        dead &= ~(1L << index);
+      }
+    }
+  }
+
+  @Override
+  public Deck fork() {
+    return new ArrayDeck(this);
+  }
+
+  /**
+   * Retrieves the cards no longer in the deck.
+   * @return the mask of the cards drawn or removed
+   */
+  public long getDeadMask() {
+    return dead;
+  }
+
+  /**
+   * Removes the card at the cursor.
+   * @return the card removed
+   */
+  private Card take() {
+    int index = order[cursor++];
+    dead |= 1L << index;
+
+    return Card.of(index);
+  }
+
+  /**
+   * Exchanges two positions of the card array.
+   * @param first the first position
+   * @param second the second position
+   */
+  private void swap(int first, int second) {
+    if (first == second) {
+      return;
+    }
+    if (shared) {
+      order = order.clone();
+      positions = positions.clone();
+      shared = false;
+    }
+
+    int card = order[first];
+    order[first] = order[second];
+    order[second] = card;
+    positions[order[first]] = first;
+    positions[card] = second;
+  }
+}
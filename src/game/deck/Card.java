@@ -1,25 +1,98 @@
 package game.deck;
 
+import java.util.Collection;
+
 /**
  * Represents a standard playing card.
+ *
+ * <p>Each of the 52 cards has a canonical instance retrieved through {@link #of(Suit, Rank)}
+ * or {@link #of(int)}, along with a stable index from 0 to 51, {@code suit * 13 + (rank - 2)},
+ * and a one bit mask at that index. Cards built through the constructors are equal to their
+ * canonical instance.</p>
  */
 public class Card {
-  private Suit suit;
-  private Rank rank;
+  public static final int DECK_SIZE = 52;
+
+  private static final int SUIT_SIZE = 13;
+  private static final Card[] CARDS = new Card[DECK_SIZE];
+
+  static {
+    for (Suit suit : Suit.values()) {
+      for (Rank rank : Rank.values()) {
+        Card card = new Card(suit, rank);
+        CARDS[card.index] = card;
+      }
+    }
+  }
+
+  private final Suit suit;
+  private final Rank rank;
+  private final int index;
 
   /**
-   * Constructs a playing card.
+   * Constructs a playing card. Prefer {@link #of(Suit, Rank)}, which never allocates.
    * @param suit the type of suit
    * @param rank the numeric rank
    */
   public Card(Suit suit, Rank rank) {
     this.suit = suit;
     this.rank = rank;
+    this.index = suit.ordinal() * SUIT_SIZE + rank.getValue() - 2;
   }
 
   public Card(Card other) {
     this.suit = other.suit;
     this.rank = other.rank;
+    this.index = other.index;
+  }
+
+  /**
+   * Retrieves the canonical instance of a card.
+   * @param suit the type of suit
+   * @param rank the numeric rank
+   * @return the card
+   */
+  public static Card of(Suit suit, Rank rank) {
+    return CARDS[suit.ordinal() * SUIT_SIZE + rank.getValue() - 2];
+  }
+
+  /**
+   * Retrieves the canonical instance of the card at an index.
+   * @param index the index of the card, from 0 to 51
+   * @return the card
+   */
+  public static Card of(int index) {
+    return CARDS[index];
+  }
+
+  /**
+   * Combines cards into a card mask. Duplicate cards only appear once.
+   * @param cards the cards
+   * @return the card mask
+   */
+  public static long maskOf(Collection<Card> cards) {
+    long mask = 0;
+    for (Card card : cards) {
+      mask |= card.getMask();
+    }
+
+    return mask;
+  }
+
+  /**
+   * Gets the stable index of this card.
+   * @return the index from 0 to 51
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Gets the one bit mask of this card.
+   * @return the mask with only the bit at this card's index set
+   */
+  public long getMask() {
+    return 1L << index;
   }
 
   /**
@@ -65,15 +138,11 @@ public class Card {
 
     Card card = (Card) o;
 
-    if (suit != card.suit) return false;
-    return rank == card.rank;
-
+    return index == card.index;
   }
 
   @Override
   public int hashCode() {
-    int result = suit.hashCode();
-    result = 31 * result + rank.hashCode();
-    return result;
+    return index;
   }
 }
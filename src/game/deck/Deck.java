@@ -62,4 +62,11 @@ public interface Deck {
    * @param content the cards in the new deck
    */
   void setStreamCards(List<Card> content);
+
+  /**
+   * Creates an independent deck holding the same remaining cards in the same order. Changes to
+   * either deck afterwards do not affect the other.
+   * @return the new deck
+   */
+  Deck fork();
 }
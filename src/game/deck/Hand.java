@@ -4,12 +4,27 @@ import java.util.*;
 
 /**
  * Represents a hand of cards.
+ *
+ * <p>Cards are stored by index in a primitive array alongside a mask of the cards held, and the
+ * amount of cards of each rank and suit is kept up to date as cards are added. The list and map
+ * accessors are views built from this state.</p>
  */
 public class Hand {
-  private List<Card> hand;
+  private static final int DEFAULT_CAPACITY = 7;
+  private static final Suit[] SUITS = Suit.values();
+
+  private byte[] cards;
+  private int size;
+  private long mask;
+  private final int[] rankCounts;
+  private final int[] suitCounts;
 
   public Hand() {
-    this.hand = new ArrayList<>();
+    this.cards = new byte[DEFAULT_CAPACITY];
+    this.size = 0;
+    this.mask = 0;
+    this.rankCounts = new int[15];
+    this.suitCounts = new int[SUITS.length];
   }
 
   /**
@@ -17,7 +32,8 @@ public class Hand {
    * @param hand a list of Cards to fill the Hand with
    */
   public Hand(List<Card> hand) {
-    this.hand = hand;
+    this();
+    hand.forEach(this::addCard);
   }
 
   /**
@@ -25,8 +41,10 @@ public class Hand {
    * @param cards the cards to make the hand
    */
   public Hand(Card... cards) {
-    this.hand = new ArrayList<>();
-    hand.addAll(Arrays.asList(cards));
+    this();
+    for (Card card : cards) {
+      addCard(card);
+    }
   }
 
   /**
@@ -34,7 +52,11 @@ public class Hand {
    * @param hand the hand to copy
    */
   public Hand(Hand hand) {
-    this.hand = hand.getCards();
+    this.cards = hand.cards.clone();
+    this.size = hand.size;
+    this.mask = hand.mask;
+    this.rankCounts = hand.rankCounts.clone();
+    this.suitCounts = hand.suitCounts.clone();
   }
 
   /**
@@ -42,7 +64,14 @@ public class Hand {
    * @param card the new card to be added
    */
   public void addCard(Card card) {
-    hand.add(card);
+    if (size == cards.length) {
+      cards = Arrays.copyOf(cards, size * 2);
+    }
+
+    cards[size++] = (byte) card.getIndex();
+    mask |= card.getMask();
+    rankCounts[card.getRank()]++;
+    suitCounts[card.getSuit().ordinal()]++;
   }
 
   /**
@@ -50,9 +79,11 @@ public class Hand {
    * @return a list of all suits that appear in this hand
    */
   public List<Suit> getSuits() {
-    List<Suit> suits = new ArrayList<>();
+    List<Suit> suits = new ArrayList<>(size);
 
-    hand.forEach(card -> suits.add(card.getSuit()));
+    for (int i = 0; i < size; i++) {
+      suits.add(Card.of(cards[i]).getSuit());
+    }
 
     return suits;
   }
@@ -62,9 +93,11 @@ public class Hand {
    * @return a list of all card values in this hand
    */
   public List<Integer> getValues() {
-    List<Integer> values = new ArrayList<>();
+    List<Integer> values = new ArrayList<>(size);
 
-    hand.forEach(card -> values.add(card.getRank()));
+    for (int i = 0; i < size; i++) {
+      values.add(Card.of(cards[i]).getRank());
+    }
 
     return values;
   }
@@ -74,13 +107,11 @@ public class Hand {
    * @return a map of card values and the amount of times they appear in this hand
    */
   public TreeMap<Integer, Integer> allValues() {
-
     TreeMap<Integer, Integer> quantity = new TreeMap<>();
-    List<Integer> values = getValues();
 
-    for (Integer rank : values) {
-      if (!quantity.containsKey(rank)) {
-        quantity.put(rank, Collections.frequency(values, rank));
+    for (int rank = 0; rank < rankCounts.length; rank++) {
+      if (rankCounts[rank] > 0) {
+        quantity.put(rank, rankCounts[rank]);
       }
     }
 
@@ -92,20 +123,70 @@ public class Hand {
    * @return a map of suits and the amount of times they appear in this hand
    */
   public HashMap<Suit, Integer> allSuits() {
-
     HashMap<Suit, Integer> quantity = new HashMap<>();
-    List<Suit> rawSuits = getSuits();
 
-    for (Suit suit : rawSuits) {
-      if (!quantity.containsKey(suit)) {
-        quantity.put(suit, Collections.frequency(rawSuits, suit));
+    for (Suit suit : SUITS) {
+      if (suitCounts[suit.ordinal()] > 0) {
+        quantity.put(suit, suitCounts[suit.ordinal()]);
       }
     }
 
     return quantity;
   }
 
+  /**
+   * Gets the amount of cards of a rank in this hand.
+   * @param value the numeric rank
+   * @return the amount of cards of that rank
+   */
+  public int countRank(int value) {
+    return rankCounts[value];
+  }
+
+  /**
+   * Gets the amount of cards of a suit in this hand.
+   * @param suit the suit
+   * @return the amount of cards of that suit
+   */
+  public int countSuit(Suit suit) {
+    return suitCounts[suit.ordinal()];
+  }
+
+  /**
+   * Gets the mask of the cards in this hand, with a bit set at the index of each card held.
+   * @return the card mask
+   */
+  public long getMask() {
+    return mask;
+  }
+
+  /**
+   * Gets the amount of cards in this hand.
+   * @return the amount of cards
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the cards in this hand in the order they were added.
+   * @return an unmodifiable view of the cards in this hand
+   */
   public List<Card> getCards() {
-    return this.hand;
+    return new AbstractList<Card>() {
+      @Override
+      public Card get(int index) {
+        if (index < 0 || index >= size) {
+          throw new IndexOutOfBoundsException("No card at " + index);
+        }
+
+        return Card.of(cards[index]);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,344 @@
+package game.deck;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import game.util.RandomSource;
+
+/**
+ * Represents a shoe of several standard decks shuffled together, as used for blackjack and
+ * baccarat.
+ *
+ * <p>The cards are held by index in a primitive array, with the remaining cards between a cursor
+ * and an end position. A cut card is placed at a fraction of the shoe, and {@link #shuffle()}
+ * only reshuffles once dealing has reached it, so that a shoe lasts for many rounds. The amount
+ * of remaining cards of each rank and of each card is kept up to date as cards are dealt.</p>
+ */
+public class Shoe implements Deck {
+  public static final int MAX_DECKS = 8;
+  public static final double DEFAULT_PENETRATION = 0.75;
+
+  private final int decks;
+  private final int cutCard;
+  private final RandomSource rand;
+
+  private byte[] cards;
+  private boolean shared;
+  private int cursor;
+  private int end;
+  private final int[] rankCounts;
+  private final int[] cardCounts;
+
+  /**
+   * Constructs a randomly ordered shoe with the default penetration.
+   * @param decks the amount of decks in the shoe
+   */
+  public Shoe(int decks) {
+    this(decks, DEFAULT_PENETRATION, RandomSource.create());
+  }
+
+  /**
+   * Constructs a shoe.
+   * @param decks the amount of decks in the shoe, from 1 to 8
+   * @param penetration the fraction of the shoe dealt before the cut card is reached
+   * @param rand the random source to shuffle with
+   * @throws IllegalArgumentException if the amount of decks or the penetration is out of range
+   */
+  public Shoe(int decks, double penetration, RandomSource rand) {
+    if (decks < 1 || decks > MAX_DECKS) {
+      throw new IllegalArgumentException("A shoe holds 1 to " + MAX_DECKS + " decks");
+    }
+    if (!(penetration > 0 && penetration <= 1)) {
+      throw new IllegalArgumentException("Penetration must be above 0 and at most 1");
+    }
+
+    this.decks = decks;
+    this.cutCard = (int) Math.round(decks * Card.DECK_SIZE * penetration);
+    this.rand = rand;
+    this.cards = new byte[decks * Card.DECK_SIZE];
+    this.rankCounts = new int[15];
+    this.cardCounts = new int[Card.DECK_SIZE];
+    reshuffle();
+  }
+
+  /**
+   * Constructs a shoe sharing the cards of another shoe.
+   * @param other the shoe to share with
+   */
+  private Shoe(Shoe other) {
+    this.decks = other.decks;
+    this.cutCard = other.cutCard;
+    this.rand = other.rand.split();
+    this.cards = other.cards;
+    this.cursor = other.cursor;
+    this.end = other.end;
+    this.rankCounts = other.rankCounts.clone();
+    this.cardCounts = other.cardCounts.clone();
+    this.shared = true;
+    other.shared = true;
+  }
+
+  /**
+   * Reshuffles the shoe if dealing has reached the cut card. Otherwise dealing carries on from
+   * where it left off.
+   */
+  @Override
+  public void shuffle() {
+    if (isCutReached()) {
+      reshuffle();
+    }
+  }
+
+  /**
+   * Gathers every card back into the shoe and shuffles it.
+   */
+  public void reshuffle() {
+    unshare();
+    for (int i = 0; i < cards.length; i++) {
+      cards[i] = (byte) (i % Card.DECK_SIZE);
+    }
+    for (int i = cards.length - 1; i > 0; i--) {
+      swap(i, rand.nextInt(i + 1));
+    }
+
+    cursor = 0;
+    end = cards.length;
+    countCards();
+  }
+
+  @Override
+  public List<Hand> dealCards(int players, int amount) {
+
+    if (players < 1) {
+      throw new IllegalArgumentException("No players to deal");
+    }
+
+    if (players * amount > remainingCards()) {
+      throw new IllegalArgumentException("Too many players and cards to deal");
+    }
+
+    List<Hand> allHands = new ArrayList<>(players);
+    for (int i = 0; i < players; i++) {
+      allHands.add(new Hand());
+    }
+
+    for (int n = 0; n < amount; n++) {
+      for (Hand hand : allHands) {
+        hand.addCard(drawCard());
+      }
+    }
+
+    return allHands;
+  }
+
+  @Override
+  public Card drawCard() {
+    if (remainingCards() < 1) {
+      throw new IllegalArgumentException("No more cards to draw");
+    }
+
+    return take();
+  }
+
+  @Override
+  public Card drawAtPosition(int position) {
+    if (position < 0 || position >= remainingCards()) {
+      throw new IllegalArgumentException("Can't draw at that position");
+    }
+
+    swap(cursor, cursor + position);
+    return take();
+  }
+
+  @Override
+  public void burnCards(int amount) {
+    if (remainingCards() < 1) {
+      throw new IllegalArgumentException("No more cards to burn");
+    }
+    if (amount > remainingCards()) {
+      throw new IllegalArgumentException("Too many cards to burn");
+    }
+
+    for (int n = 0; n < amount; n++) {
+      take();
+    }
+  }
+
+  @Override
+  public int remainingCards() {
+    return end - cursor;
+  }
+
+  /**
+   * Retrieves the remaining cards in the shoe, in dealing order. The list is a view of the shoe
+   * rather than a copy, and changes as cards are dealt.
+   * @return an unmodifiable view of the remaining cards
+   */
+  @Override
+  public List<Card> allCards() {
+    return new AbstractList<Card>() {
+      @Override
+      public Card get(int index) {
+        if (index < 0 || index >= size()) {
+          throw new IndexOutOfBoundsException("No card at " + index);
+        }
+
+        return Card.of(cards[cursor + index]);
+      }
+
+      @Override
+      public int size() {
+        return remainingCards();
+      }
+    };
+  }
+
+  /**
+   * Removes one remaining copy of each given card from the shoe.
+   * @param known the cards to remove
+   */
+  @Override
+  public void removeKnown(List<Card> known) {
+    for (Card card : known) {
+      if (cardCounts[card.getIndex()] == 0) {
+        continue;
+      }
+
+      int position = cursor;
+      while (cards[position] != card.getIndex()) {
+        position++;
+      }
+
+      swap(position, --end);
+      count(card, -1);
+    }
+  }
+
+  /**
+   * Sets the remaining cards of the shoe. The next reshuffle fills the shoe again.
+   * @param content the cards in dealing order
+   * @throws IllegalArgumentException if there are more cards than the shoe holds
+   */
+  @Override
+  public void setStreamCards(List<Card> content) {
+    if (content.size() > cards.length) {
+      throw new IllegalArgumentException("Too many cards for the shoe");
+    }
+
+    unshare();
+    for (int i = 0; i < content.size(); i++) {
+      cards[i] = (byte) content.get(i).getIndex();
+    }
+
+    cursor = 0;
+    end = content.size();
+    countCards();
+  }
+
+  @Override
+  public Deck fork() {
+    return new Shoe(this);
+  }
+
+  /**
+   * Gets the amount of decks in the shoe.
+   * @return the amount of decks
+   */
+  public int getDecks() {
+    return decks;
+  }
+
+  /**
+   * Gets the amount of cards dealt from a full shoe before the cut card is reached.
+   * @return the position of the cut card
+   */
+  public int getCutCard() {
+    return cutCard;
+  }
+
+  /**
+   * Determines if dealing has reached the cut card.
+   * @return if the shoe is due for a reshuffle
+   */
+  public boolean isCutReached() {
+    return cursor >= cutCard || remainingCards() == 0;
+  }
+
+  /**
+   * Gets the amount of remaining cards of a rank.
+   * @param value the numeric rank
+   * @return the amount of remaining cards of that rank
+   */
+  public int countRank(int value) {
+    return rankCounts[value];
+  }
+
+  /**
+   * Gets the amount of remaining copies of a card.
+   * @param card the card
+   * @return the amount of remaining copies
+   */
+  public int countCard(Card card) {
+    return cardCounts[card.getIndex()];
+  }
+
+  /**
+   * Removes the card at the cursor.
+   * @return the card removed
+   */
+  private Card take() {
+    Card card = Card.of(cards[cursor++]);
+    count(card, -1);
+
+    return card;
+  }
+
+  /**
+   * Changes the remaining counts of a card.
+   * @param card the card
+   * @param change the amount to add to its counts
+   */
+  private void count(Card card, int change) {
+    rankCounts[card.getRank()] += change;
+    cardCounts[card.getIndex()] += change;
+  }
+
+  /**
+   * Recounts the remaining cards from scratch.
+   */
+  private void countCards() {
+    Arrays.fill(rankCounts, 0);
+    Arrays.fill(cardCounts, 0);
+    for (int i = cursor; i < end; i++) {
+      count(Card.of(cards[i]), 1);
+    }
+  }
+
+  /**
+   * Exchanges two positions of the card array.
+   * @param first the first position
+   * @param second the second position
+   */
+  private void swap(int first, int second) {
+    if (first == second) {
+      return;
+    }
+
+    unshare();
+    byte card = cards[first];
+    cards[first] = cards[second];
+    cards[second] = card;
+  }
+
+  /**
+   * Takes a private copy of the card array if it is shared with a fork.
+   */
+  private void unshare() {
+    if (shared) {
+      cards = cards.clone();
+      shared = false;
+    }
+  }
+}
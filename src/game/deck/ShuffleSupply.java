@@ -0,0 +1,176 @@
+package game.deck;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import game.util.RandomSource;
+
+/**
+ * Supplies ready shuffled deck orders produced by a background thread.
+ *
+ * <p>Each order is a permutation of the card indices held as bytes. The producer thread keeps a
+ * bounded ring of orders full, and decks take orders from it with {@link #poll()} without locks
+ * or waiting. A deck finding the ring empty is counted as a stall and shuffles by itself
+ * instead.</p>
+ */
+public class ShuffleSupply implements AutoCloseable {
+  public static final int DEFAULT_CAPACITY = 64;
+  private static final long IDLE_NANOS = 100_000;
+
+  private final byte[][] slots;
+  private final int slotMask;
+  private final AtomicLong head;
+  private final AtomicLong tail;
+  private final RandomSource rand;
+  private final Thread producer;
+
+  private final LongAdder produced;
+  private final LongAdder taken;
+  private final LongAdder stalls;
+  private volatile boolean open;
+
+  /**
+   * Constructs a ShuffleSupply with the default capacity.
+   * @param rand the random source to shuffle with
+   */
+  public ShuffleSupply(RandomSource rand) {
+    this(rand, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs a ShuffleSupply and starts its producer thread.
+   * @param rand the random source to shuffle with, used only by the producer thread
+   * @param capacity the most orders kept ready, rounded up to a power of two
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public ShuffleSupply(RandomSource rand, int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+
+    this.slots = new byte[size][];
+    this.slotMask = size - 1;
+    this.head = new AtomicLong();
+    this.tail = new AtomicLong();
+    this.rand = rand;
+    this.produced = new LongAdder();
+    this.taken = new LongAdder();
+    this.stalls = new LongAdder();
+    this.open = true;
+
+    this.producer = new Thread(this::produce, "shuffle-supply");
+    producer.setDaemon(true);
+    producer.start();
+  }
+
+  /**
+   * Takes a shuffled order if one is ready.
+   * @return the card indices in dealing order, or null if none are ready
+   */
+  public byte[] poll() {
+    while (true) {
+      long position = head.get();
+      if (position >= tail.get()) {
+        stalls.increment();
+        return null;
+      }
+
+      byte[] order = slots[(int) position & slotMask];
+      if (head.compareAndSet(position, position + 1)) {
+        taken.increment();
+        return order;
+      }
+    }
+  }
+
+  /**
+   * Stops the producer thread and waits for it to finish. Orders already in the ring can still be
+   * taken.
+   */
+  @Override
+  public void close() {
+    open = false;
+    LockSupport.unpark(producer);
+    try {
+      producer.join();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Retrieves the amount of orders ready to take.
+   * @return the queue depth
+   */
+  public int getDepth() {
+    return (int) Math.max(0, tail.get() - head.get());
+  }
+
+  /**
+   * Retrieves the amount of orders produced so far.
+   * @return the amount of orders
+   */
+  public long getProduced() {
+    return produced.sum();
+  }
+
+  /**
+   * Retrieves the amount of orders taken so far.
+   * @return the amount of orders
+   */
+  public long getTaken() {
+    return taken.sum();
+  }
+
+  /**
+   * Retrieves the amount of times an order was asked for while none were ready.
+   * @return the stall count
+   */
+  public long getStalls() {
+    return stalls.sum();
+  }
+
+  /**
+   * Keeps the ring full until the supply is closed.
+   */
+  private void produce() {
+    while (open) {
+      long position = tail.get();
+      if (position - head.get() > slotMask) {
+        LockSupport.parkNanos(this, IDLE_NANOS);
+        continue;
+      }
+
+      slots[(int) position & slotMask] = shuffled();
+      tail.set(position + 1);
+      produced.increment();
+    }
+  }
+
+  /**
+   * Creates a new shuffled order of every card.
+   * @return the card indices in random order
+   */
+  private byte[] shuffled() {
+    byte[] order = new byte[Card.DECK_SIZE];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = (byte) i;
+    }
+
+    for (int i = order.length - 1; i > 0; i--) {
+      int other = rand.nextInt(i + 1);
+      byte card = order[i];
+      order[i] = order[other];
+      order[other] = card;
+    }
+
+    return order;
+  }
+}
@@ -2,11 +2,11 @@ package game.deck;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
-import java.util.Random;
 import java.util.stream.IntStream;
 
+import game.util.RandomSource;
+
 /**
  * Represents a standard deck of playing cards.
  */
@@ -14,15 +14,13 @@ public class StandardDeck implements Deck {
 
   private List<Card> cards = new ArrayList<>();
   private List<Card> streamCards;
-  private Random rand;
+  private RandomSource rand;
 
   /**
    * Constructs a randomly ordered deck.
    */
   public StandardDeck() {
-    this.rand = new Random();
-    createDeck();
-    shuffle();
+    this(RandomSource.create());
   }
 
   /**
@@ -30,23 +28,40 @@ public class StandardDeck implements Deck {
    * @param seed the desired random seed
    */
   public StandardDeck(int seed) {
-    this.rand = new Random(seed);
+    this(RandomSource.seeded(seed));
+  }
+
+  /**
+   * Constructs a deck ordered by a random source.
+   * @param rand the random source
+   */
+  public StandardDeck(RandomSource rand) {
+    this.rand = rand;
     createDeck();
   }
 
   public StandardDeck(List<Card> known) {
-    this.rand = new Random();
-    createDeck();
+    this();
     removeKnown(known);
   }
 
+  /**
+   * Constructs a deck by copying the remaining cards of another deck.
+   * @param other the deck to copy
+   */
+  private StandardDeck(StandardDeck other) {
+    this.cards = other.cards;
+    this.streamCards = new ArrayList<>(other.streamCards);
+    this.rand = other.rand.split();
+  }
+
   /**
    * Creates the deck of cards and shuffles it.
    */
   private void createDeck() {
     List<Rank> values = new ArrayList<>(Arrays.asList(Rank.values()));
     List<Suit> suits = new ArrayList<>(Arrays.asList(Suit.values()));
-    values.forEach(val -> suits.forEach(shape -> cards.add(new Card(shape, val))));
+    values.forEach(val -> suits.forEach(shape -> cards.add(Card.of(shape, val))));
     shuffle();
   }
 
@@ -54,7 +69,9 @@ public class StandardDeck implements Deck {
   public void shuffle() {
     streamCards = new ArrayList<>();
     streamCards.addAll(cards);
-    Collections.shuffle(streamCards, rand);
+    for (int i = streamCards.size() - 1; i > 0; i--) {
+      streamCards.set(i, streamCards.set(rand.nextInt(i + 1), streamCards.get(i)));
+    }
   }
 
   @Override
@@ -121,7 +138,8 @@ public class StandardDeck implements Deck {
 
   @Override
   public void removeKnown(List<Card> known) {
-    streamCards.removeIf(known::contains);
+    long mask = Card.maskOf(known);
+    streamCards.removeIf(card -> (mask & card.getMask()) != 0);
   }
 
   @Override
@@ -129,4 +147,9 @@ public class StandardDeck implements Deck {
     streamCards.clear();
     streamCards.addAll(content);
   }
+
+  @Override
+  public Deck fork() {
+    return new StandardDeck(this);
+  }
 }
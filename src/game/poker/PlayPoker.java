@@ -1,17 +1,25 @@
 package game.poker;
 
 import java.io.InputStreamReader;
+import java.nio.file.Paths;
 
 import game.poker.PokerGame;
 import game.poker.cmdflow.GameController;
 import game.poker.cmdflow.PokerCMD;
+import game.poker.rules.EvaluatorTables;
+import game.poker.rules.HandEvaluator;
 
 /**
  * Plays a game of Poker on the command line.
  */
 public class PlayPoker {
+  private static final String TABLE_FILE = "poker.tables";
 
   public static void main(String[] args) {
+    String tableFile = System.getProperty(TABLE_FILE,
+            Paths.get(System.getProperty("java.io.tmpdir"), "poker-evaluator.tables").toString());
+    HandEvaluator.useTables(EvaluatorTables.loadOrGenerate(Paths.get(tableFile)));
+
     PokerGame game = new PokerGame(1, 500);
     GameController con = new PokerCMD(new InputStreamReader(System.in), System.out, game);
     con.playGame();
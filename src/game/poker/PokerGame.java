@@ -2,20 +2,20 @@ package game.poker;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
+import game.deck.ArrayDeck;
 import game.deck.Card;
 import game.deck.Deck;
 import game.deck.Hand;
-import game.deck.StandardDeck;
+import game.deck.ShuffleSupply;
 import game.poker.player.ComputerPlayer;
 import game.poker.player.PokerPlayer;
-import game.poker.rules.HandRank;
-import game.util.CyclicSet;
+import game.poker.rules.HandValue;
+import game.util.RandomSource;
+import game.util.SeatRing;
 
 /**
  * Represents the game of Poker.
@@ -25,6 +25,7 @@ public class PokerGame {
   private List<Card> communityCards = new ArrayList<>();
   private int button = 0;
   private Deck deck;
+  private final SeatRing seats = new SeatRing();
 
   /**
    * Constructs a game of Poker.
@@ -32,8 +33,7 @@ public class PokerGame {
    * @param startMoney the amount of money each player starts with
    */
   public PokerGame(int computer, int startMoney) {
-    this.deck = new StandardDeck();
-    createPlayers(computer, startMoney);
+    this(computer, startMoney, RandomSource.create());
   }
 
   /**
@@ -42,29 +42,57 @@ public class PokerGame {
    * @param startMoney the amount of money each player starts with
    */
   public PokerGame(int computer, int startMoney, int seed) {
-    this.deck = new StandardDeck(seed);
-    createPlayers(computer, startMoney);
+    this(computer, startMoney, RandomSource.seeded(seed));
   }
 
   /**
-   * Retrieves all player IDs.
-   * @return a set of all player IDs
+   * Constructs a game of Poker where the deck and every computer player draw from independent
+   * random sources split from one root.
+   * @param computer the number of computer players
+   * @param startMoney the amount of money each player starts with
+   * @param rand the root random source
    */
-  private CyclicSet allPlayerId() {
-    return players.stream().filter(PokerPlayer::isPlaying).map(PokerPlayer::getId)
-            .collect(Collectors.toCollection(CyclicSet::new));
+  public PokerGame(int computer, int startMoney, RandomSource rand) {
+    this(computer, startMoney, rand, null);
+  }
+
+  /**
+   * Constructs a game of Poker whose deck takes ready shuffled orders from a supply, so that
+   * starting a round does no shuffling work while the supply keeps up.
+   * @param computer the number of computer players
+   * @param startMoney the amount of money each player starts with
+   * @param rand the root random source
+   * @param supply the supply of shuffled orders, or null to shuffle in place
+   */
+  public PokerGame(int computer, int startMoney, RandomSource rand, ShuffleSupply supply) {
+    this.deck = new ArrayDeck(rand.split(), supply);
+    createPlayers(computer, startMoney, rand);
+  }
+
+  /**
+   * Retrieves the seats of all players still playing. The same ring is updated in place on every
+   * call.
+   * @return the ring of seats of all playing players
+   */
+  private SeatRing allPlayerId() {
+    for (PokerPlayer player : players) {
+      seats.set(player.getId(), player.isPlaying());
+    }
+
+    return seats;
   }
 
   /**
    * Initializes all Poker Players and deals them their first hand.
    * @param computer the amount of computer players
    * @param startMoney the amount of money each player starts with
+   * @param rand the random source to split for each computer player
    */
-  private void createPlayers(int computer, int startMoney) {
+  private void createPlayers(int computer, int startMoney, RandomSource rand) {
     players.add(new PokerPlayer(0, startMoney));
 
     while (players.size() != computer + 1) {
-      players.add(new ComputerPlayer(players.size(), startMoney));
+      players.add(new ComputerPlayer(players.size(), startMoney, rand.split()));
     }
 
     startRound();
@@ -75,14 +103,14 @@ public class PokerGame {
    */
   private void startRound() {
     deck.shuffle();
-    CyclicSet cycle = allPlayerId();
+    SeatRing cycle = allPlayerId();
     List<Hand> playerHands = deck.dealCards(cycle.size(), 2);
     players.forEach(p -> {
       if (p.isPlaying()) p.initHand(playerHands.remove(0));
     });
 
-    Integer smallPlayer = cycle.nextItem(button);
-    Integer bigPlayer = cycle.nextItem(smallPlayer);
+    int smallPlayer = cycle.next(button);
+    int bigPlayer = cycle.next(smallPlayer);
 
     players.get(smallPlayer).bet(25);
     players.get(bigPlayer).bet(50);
@@ -103,8 +131,7 @@ public class PokerGame {
    * Changes the dealer to the next player.
    */
   private void updateDealer() {
-    CyclicSet cycle = allPlayerId();
-    button = cycle.nextItem(button);
+    button = allPlayerId().next(button);
 
     if (!players.get(button).isPlaying()) {
       updateDealer();
@@ -118,7 +145,12 @@ public class PokerGame {
     if (communityCards.size() < 5) {
       deck.burnCards(1);
       int amount = communityCards.size() == 0 ? 3 : 1;
-      IntStream.range(0, amount).forEach(n -> communityCards.add(deck.drawCard()));
+      for (int n = 0; n < amount; n++) {
+        Card card = deck.drawCard();
+        communityCards.add(card);
+        players.stream().filter(p -> p instanceof ComputerPlayer)
+                .forEach(p -> ((ComputerPlayer) p).revealCard(card));
+      }
       resetRaise();
     }
   }
@@ -141,14 +173,14 @@ public class PokerGame {
    * @return a list of all players
    */
   public List<PokerPlayer> availablePlayers() {
-    CyclicSet cycle = allPlayerId();
-    Integer betPlayer = cycle.fromStart(button, 3);
+    SeatRing cycle = allPlayerId();
+    int betPlayer = cycle.fromStart(button, 3);
 
     List<PokerPlayer> ordered = new ArrayList<>();
 
     for (int i = 0; i < cycle.size(); i++) {
       ordered.add(players.get(betPlayer));
-      betPlayer = cycle.nextItem(betPlayer);
+      betPlayer = cycle.next(betPlayer);
     }
 
     return ordered;
@@ -171,7 +203,8 @@ public class PokerGame {
   }
 
   /**
-   * Finds the winner(s) of the round and allots them the pot.
+   * Finds the winner(s) of the round and allots them the pot. Each player's hand is evaluated
+   * once, and players with exactly equal hands split the pot.
    * @return the ID of the round winners
    */
   public String resolveWin() {
@@ -181,31 +214,29 @@ public class PokerGame {
       }
     }
 
-    List<HandRank> allRanks = players.stream().filter(PokerPlayer::isPlaying).map(PokerPlayer::getRank)
-            .collect(Collectors.toList());
-    HandRank maxRank = Collections.max(allRanks, Comparator.comparing(HandRank::getValue));
+    List<PokerPlayer> winners = new ArrayList<>();
+    HandValue maxValue = null;
+
+    for (PokerPlayer player : players) {
+      if (!player.isPlaying()) {
+        continue;
+      }
 
-    List<PokerPlayer> winners = new ArrayList<>(players);
-    winners.removeIf(p -> p.getRank() != maxRank);
+      HandValue value = player.getValue();
+      int order = maxValue == null ? 1 : value.compareTo(maxValue);
 
-    if (winners.size() > 1) {
-      highestHand(winners);
+      if (order > 0) {
+        maxValue = value;
+        winners.clear();
+      }
+      if (order >= 0) {
+        winners.add(player);
+      }
     }
 
     return allocatePot(winners);
   }
 
-  /**
-   * Resolves tiebreakers by finding the player(s) with the highest summed hand.
-   * If all players have the same exact hand, then it is a draw
-   * @param winners a list of players with tied hands
-   */
-  private void highestHand(List<PokerPlayer> winners) {
-    int maxHandSum = Collections.max(winners.stream().map(PokerPlayer::totalRankedSum)
-            .collect(Collectors.toList()));
-    winners.removeIf(p -> p.totalRankedSum() != maxHandSum);
-  }
-
   /**
    * Splits the pot among winners of the round.
    * @param winners a list of winning players
@@ -1,30 +1,53 @@
 package game.poker.player;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import game.deck.ArrayDeck;
 import game.deck.Card;
 import game.deck.Deck;
 import game.deck.Hand;
-import game.deck.StandardDeck;
 import game.poker.player.decision.PokerNode;
 import game.poker.player.decision.PokerState;
+import game.poker.player.decision.SearchTree;
 import game.poker.player.strategy.*;
-import game.poker.rules.FindRank;
+import game.poker.rules.BoardContext;
+import game.util.RandomSource;
 
 /**
  * Decides an amount to bet by utilizing Monte Carlo Tree Search.
  */
 public class ComputerBrain {
-  private static final int SAMPLES = 1000;
+
+  public static final int SAMPLES = 1000;
+  private static final int CLOCK_STRIDE = 16;
   private PokerNode root;
   private int currentBet;
-  private Random rand;
+  private final RandomSource rand;
+  private int iterations;
+  private long elapsedNanos;
+  private long handMask;
+  private long boardMask;
+  private long[] opponentMasks;
+  private long deadMask;
+  private final int players;
+  private SearchTree[] attached;
+  private boolean advanced;
 
+  /**
+   * Constructs a ComputerBrain object whose decisions repeat exactly for the same seed.
+   * @param hand the hand of the computer
+   * @param board the community cards
+   * @param players the number of players in the game, excluding this one
+   * @param currentBet the bet currently on the line
+   * @param seed the seed of every random choice made
+   */
   public ComputerBrain(List<Card> hand, List<Card> board, int players, int currentBet, int seed) {
-    this(hand, board, players, currentBet);
-    this.rand = new Random(seed);
+    this(hand, board, players, currentBet, RandomSource.seeded(seed));
   }
 
   /**
@@ -35,22 +58,42 @@ public class ComputerBrain {
    * @param currentBet the bet currently on the line
    */
   public ComputerBrain(List<Card> hand, List<Card> board, int players, int currentBet) {
+    this(hand, board, players, currentBet, RandomSource.create());
+  }
+
+  /**
+   * Constructs a ComputerBrain object given the current state of the game.
+   * @param hand the hand of the computer
+   * @param board the community cards
+   * @param players the number of players in the game, excluding this one
+   * @param currentBet the bet currently on the line
+   * @param rand the random source of every random choice made
+   */
+  public ComputerBrain(List<Card> hand, List<Card> board, int players, int currentBet,
+                       RandomSource rand) {
+    this.rand = rand;
+    this.currentBet = currentBet;
+    this.players = players;
+    this.handMask = Card.maskOf(hand);
+    this.boardMask = Card.maskOf(board);
+
     if (board.size() == 0 || players == 0) {
       this.root = null;
-      this.currentBet = currentBet;
     }
     else {
       List<Card> exclude = Stream.concat(hand.stream(), board.stream()).collect(Collectors.toList());
-      Deck base = new StandardDeck(exclude);
+      ArrayDeck base = new ArrayDeck(rand.split());
+      base.removeKnown(exclude);
       base.burnCards((board.size() % 3) + 1);
       List<Hand> opponentHands = optimalHands(board, base, players);
       opponentHands.forEach(opp -> base.removeKnown(opp.getCards()));
 
+      this.opponentMasks = opponentHands.stream().mapToLong(Hand::getMask).toArray();
+      this.deadMask = base.getDeadMask();
+
       PokerState initial = new PokerState(hand, board, opponentHands, base);
       this.root = new PokerNode(initial);
-      this.currentBet = currentBet;
     }
-    this.rand = new Random();
   }
 
   /**
@@ -58,35 +101,196 @@ public class ComputerBrain {
    * @return an appropriate amount to bet
    */
   public int calculateBet() {
+    return calculateBet(0, SAMPLES);
+  }
+
+  /**
+   * Calculates a bet via Monte Carlo Tree Search, searching until either limit is reached and
+   * betting on the best move found so far. The clock is read once every few iterations, and at
+   * least one iteration is always run.
+   * @param budgetNanos the time to search for in nanoseconds, or 0 for no time limit
+   * @param maxIterations the most iterations to run, or 0 for no iteration limit
+   * @return an appropriate amount to bet
+   * @throws IllegalArgumentException if neither limit is given or a limit is negative
+   */
+  public int calculateBet(long budgetNanos, int maxIterations) {
+    return calculateBet(budgetNanos, maxIterations, 1);
+  }
+
+  /**
+   * Calculates a bet via root parallel Monte Carlo Tree Search. Every tree searches its own copy
+   * of the root, with its own deck and random source, on the common fork-join pool. The trees
+   * share one deadline and divide the iteration limit between them, and the visits and points
+   * won of the root children of every tree are added together before choosing a move.
+   * @param budgetNanos the time to search for in nanoseconds, or 0 for no time limit
+   * @param maxIterations the most iterations to run over all trees, or 0 for no iteration limit
+   * @param trees the amount of trees to search
+   * @return an appropriate amount to bet
+   * @throws IllegalArgumentException if neither limit is given, a limit is negative or there
+   *                                  are no trees
+   */
+  public int calculateBet(long budgetNanos, int maxIterations, int trees) {
+    return calculateBet(budgetNanos, maxIterations, trees, Parallelism.ROOT);
+  }
+
+  /**
+   * Calculates a bet via parallel Monte Carlo Tree Search on the common fork-join pool. With
+   * root parallelism every thread searches a tree of its own as described for
+   * {@link #calculateBet(long, int, int)}. With tree parallelism every thread searches the same
+   * tree, and each search counts as a virtual loss on the nodes it passes through until it
+   * completes, so that threads spread over different branches.
+   * @param budgetNanos the time to search for in nanoseconds, or 0 for no time limit
+   * @param maxIterations the most iterations to run over all threads, or 0 for no iteration limit
+   * @param threads the amount of threads to search with
+   * @param parallelism how the threads share the search
+   * @return an appropriate amount to bet
+   * @throws IllegalArgumentException if neither limit is given, a limit is negative or there
+   *                                  are no threads
+   * @throws IllegalStateException if this brain has been {@link #advance advanced}
+   */
+  public int calculateBet(long budgetNanos, int maxIterations, int threads,
+                          Parallelism parallelism) {
+    checkLimits(budgetNanos, maxIterations);
+    if (threads < 1) {
+      throw new IllegalArgumentException("Search needs at least one thread");
+    }
+    if (advanced) {
+      throw new IllegalStateException("Only the compact tree follows revealed cards");
+    }
+
+    iterations = 0;
+    elapsedNanos = 0;
     if (root == null) {
       return currentBet;
     }
 
-    int count = SAMPLES;
-    while (count > 0) {
-      // Phase 1 - Selection
-      PokerNode promisingNode = selectPromisingNode(root);
+    long start = System.nanoTime();
+    if (threads == 1) {
+      iterations = search(() -> iterate(root, rand, false), start, budgetNanos, maxIterations);
+    }
+    else if (parallelism == Parallelism.ROOT) {
+      iterations = searchParallel(start, budgetNanos, maxIterations, threads);
+    }
+    else {
+      iterations = searchShared(start, budgetNanos, maxIterations, threads);
+    }
+    elapsedNanos = System.nanoTime() - start;
 
-      // Phase 2 - Expansion
-      if (promisingNode.getState().stillPlaying()) {
-        expandNode(promisingNode);
-      }
+    return betFor(root.getBestChild().calculateScore());
+  }
 
-      // Phase 3 - Simulation
-      PokerNode nodeToExplore = promisingNode;
-      if (promisingNode.getChildren().size() > 0) {
-        nodeToExplore = promisingNode.getRandomChild();
+  /**
+   * Calculates a bet via Monte Carlo Tree Search on a compact tree. The first search on a tree
+   * resets it to the current state of the game, so one tree can be reused for every decision.
+   * Later searches on the same tree by this brain carry on from the statistics already gathered.
+   * @param tree the tree to search
+   * @param budgetNanos the time to search for in nanoseconds, or 0 for no time limit
+   * @param maxIterations the most iterations to run, or 0 for no iteration limit
+   * @return an appropriate amount to bet
+   * @throws IllegalArgumentException if neither limit is given or a limit is negative
+   */
+  public int calculateBet(SearchTree tree, long budgetNanos, int maxIterations) {
+    return calculateBet(new SearchTree[]{tree}, budgetNanos, maxIterations);
+  }
+
+  /**
+   * Calculates a bet via root parallel Monte Carlo Tree Search on compact trees. Every tree is
+   * searched by a thread of its own on the common fork-join pool, with its own random source.
+   * The trees share one deadline and divide the iteration limit between them, and the visits and
+   * points won of their root children are added together by card before choosing a move. The
+   * trees are reset and carried on as described for {@link #calculateBet(SearchTree, long, int)}.
+   * @param trees the trees to search, each searched by one thread
+   * @param budgetNanos the time to search for in nanoseconds, or 0 for no time limit
+   * @param maxIterations the most iterations to run over all trees, or 0 for no iteration limit
+   * @return an appropriate amount to bet
+   * @throws IllegalArgumentException if neither limit is given, a limit is negative or there
+   *                                  are no trees
+   */
+  public int calculateBet(SearchTree[] trees, long budgetNanos, int maxIterations) {
+    checkLimits(budgetNanos, maxIterations);
+    if (trees.length == 0) {
+      throw new IllegalArgumentException("Search needs at least one tree");
+    }
+
+    iterations = 0;
+    elapsedNanos = 0;
+    if (root == null) {
+      return currentBet;
+    }
+
+    if (!Arrays.equals(attached, trees)) {
+      for (SearchTree tree : trees) {
+        tree.reset(handMask, boardMask, opponentMasks, deadMask);
       }
+      attached = trees.clone();
+    }
+
+    long start = System.nanoTime();
+    if (trees.length == 1) {
+      iterations = search(() -> trees[0].iterate(rand), start, budgetNanos, maxIterations);
+    }
+    else {
+      iterations = searchCompact(trees, start, budgetNanos, maxIterations);
+    }
+    elapsedNanos = System.nanoTime() - start;
+
+    return betFor(mergedScore(trees));
+  }
 
-      double result = simulateRandomPlayout(nodeToExplore);
-      // Phase 4 - Update
-      backPropagation(nodeToExplore, result);
-      count--;
+  /**
+   * Moves the search on to a newly revealed community card, keeping what was already searched
+   * below that card. Only the compact trees given to
+   * {@link #calculateBet(SearchTree[], long, int)} are moved on, so once advanced this brain can
+   * only search with those trees. A tree that was never searched is reset to the new card.
+   * @param card the card revealed
+   * @return whether the search could carry on, if not this brain no longer matches the game and
+   *         should be replaced
+   */
+  public boolean advance(Card card) {
+    boolean promoted = attached != null;
+    for (int i = 0; promoted && i < attached.length; i++) {
+      SearchTree tree = attached[i];
+      if (tree.getChildCount(SearchTree.ROOT) == 0) {
+        tree.reset(handMask, boardMask | card.getMask(), opponentMasks, deadMask);
+      }
+      else {
+        promoted = tree.promote(card);
+      }
+    }
+    if (!promoted) {
+      attached = null;
+      return false;
     }
 
-    PokerNode winner = root.getBestChild();
-    double score = winner.calculateScore();
+    boardMask |= card.getMask();
+    advanced = true;
+    return true;
+  }
 
+  /**
+   * Determines if this brain still searches the current state of the game.
+   * @param board the community cards
+   * @param players the number of players in the game, excluding this one
+   * @return whether the community cards and the amount of opponents are the ones searched
+   */
+  public boolean matches(List<Card> board, int players) {
+    return this.players == players && boardMask == Card.maskOf(board);
+  }
+
+  /**
+   * Changes the bet currently on the line.
+   * @param currentBet the bet currently on the line
+   */
+  public void setCurrentBet(int currentBet) {
+    this.currentBet = currentBet;
+  }
+
+  /**
+   * Chooses a bet for the score of the best move found.
+   * @param score the average points won by the best move
+   * @return an appropriate amount to bet
+   */
+  private int betFor(double score) {
     System.out.println(score);
 
     if (score <= 0.3) {
@@ -95,13 +299,13 @@ public class ComputerBrain {
 
     BetStrategy strategy;
     if (score > 0.7) {
-      strategy = new HighAggroStrat();
+      strategy = new HighAggroStrat(rand);
     }
     else if (score > 0.5) {
-      strategy = new MidAggroStrat();
+      strategy = new MidAggroStrat(rand);
     }
     else if (score > 0.3) {
-      strategy = new LowAggroStrat();
+      strategy = new LowAggroStrat(rand);
     }
     else if (score > 0.15) {
       strategy = new CheckStrat();
@@ -113,6 +317,242 @@ public class ComputerBrain {
     return strategy.calcBet(currentBet);
   }
 
+  /**
+   * Retrieves the root of the tree searched without a compact tree.
+   * @return the root, or null if there is nothing to search
+   */
+  public PokerNode getRoot() {
+    return root;
+  }
+
+  /**
+   * Retrieves the amount of iterations run by the last search.
+   * @return the amount of iterations
+   */
+  public int getIterations() {
+    return iterations;
+  }
+
+  /**
+   * Retrieves the time taken by the last search.
+   * @return the time taken in nanoseconds
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Ensures that a search is limited.
+   * @param budgetNanos the time to search for in nanoseconds, or 0 for no time limit
+   * @param maxIterations the most iterations to run, or 0 for no iteration limit
+   */
+  private static void checkLimits(long budgetNanos, int maxIterations) {
+    if (budgetNanos < 0 || maxIterations < 0 || (budgetNanos == 0 && maxIterations == 0)) {
+      throw new IllegalArgumentException("Search needs a time or iteration limit");
+    }
+  }
+
+  /**
+   * Runs search iterations until either limit is reached.
+   * @param iteration a single iteration of the search
+   * @param start the time the search started at
+   * @param budgetNanos the time to search for in nanoseconds, or 0 for no time limit
+   * @param maxIterations the most iterations to run, or 0 for no iteration limit
+   * @return the amount of iterations run
+   */
+  private static int search(Runnable iteration, long start, long budgetNanos,
+                            int maxIterations) {
+    int count = 0;
+    boolean searching = true;
+    while (searching) {
+      iteration.run();
+      count++;
+
+      if (maxIterations > 0 && count >= maxIterations) {
+        searching = false;
+      }
+      else if (budgetNanos > 0 && count % CLOCK_STRIDE == 0) {
+        searching = System.nanoTime() - start < budgetNanos;
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Searches several trees in parallel and adds the statistics of their root children into the
+   * root. Children are matched by the card drawn to reach them.
+   * @param start the time the search started at
+   * @param budgetNanos the time to search for in nanoseconds, or 0 for no time limit
+   * @param maxIterations the most iterations to run over all trees, or 0 for no iteration limit
+   * @param trees the amount of trees to search
+   * @return the amount of iterations run over all trees
+   * @throws IllegalStateException if a tree has a root child the root doesn't have
+   */
+  private int searchParallel(long start, long budgetNanos, int maxIterations, int trees) {
+    int count = maxIterations > 0 ? Math.min(trees, maxIterations) : trees;
+    List<TreeSearch> searches = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      PokerNode tree = i == 0 ? root : new PokerNode(root.getState().fork());
+      int limit = maxIterations / count + (i < maxIterations % count ? 1 : 0);
+      searches.add(new TreeSearch(tree, rand.split(), start, budgetNanos, limit));
+    }
+
+    runAll(searches);
+
+    PokerState[] byCard = new PokerState[Card.DECK_SIZE];
+    for (PokerNode child : root.getChildren()) {
+      byCard[child.getState().getDrawnCard().getIndex()] = child.getState();
+    }
+
+    int total = 0;
+    for (TreeSearch search : searches) {
+      total += search.iterations;
+      if (search.tree == root) {
+        continue;
+      }
+
+      root.getState().addStatistics(search.tree.getState());
+      for (PokerNode child : search.tree.getChildren()) {
+        PokerState merged = byCard[child.getState().getDrawnCard().getIndex()];
+        if (merged == null) {
+          throw new IllegalStateException("Tree searched a card the root did not");
+        }
+        merged.addStatistics(child.getState());
+      }
+    }
+
+    return total;
+  }
+
+  /**
+   * Searches several compact trees in parallel.
+   * @param trees the trees to search
+   * @param start the time the search started at
+   * @param budgetNanos the time to search for in nanoseconds, or 0 for no time limit
+   * @param maxIterations the most iterations to run over all trees, or 0 for no iteration limit
+   * @return the amount of iterations run over all trees
+   */
+  private int searchCompact(SearchTree[] trees, long start, long budgetNanos,
+                            int maxIterations) {
+    int count = maxIterations > 0 ? Math.min(trees.length, maxIterations) : trees.length;
+    List<CompactSearch> searches = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int limit = maxIterations / count + (i < maxIterations % count ? 1 : 0);
+      searches.add(new CompactSearch(trees[i], rand.split(), start, budgetNanos, limit));
+    }
+
+    runAll(searches);
+
+    int total = 0;
+    for (CompactSearch search : searches) {
+      total += search.iterations;
+    }
+
+    return total;
+  }
+
+  /**
+   * Determines the score of the best move over several compact trees. The visits and points won
+   * of the root children of every tree are added together by card, and the card visited the most
+   * is the best move. Without any root children the score of the roots is used.
+   * @param trees the trees searched
+   * @return the average points won by the best move
+   */
+  private static double mergedScore(SearchTree[] trees) {
+    int[] visits = new int[Card.DECK_SIZE];
+    double[] wins = new double[Card.DECK_SIZE];
+    int rootVisits = 0;
+    double rootWins = 0;
+    for (SearchTree tree : trees) {
+      rootVisits += tree.getVisit(SearchTree.ROOT);
+      rootWins += tree.getWins(SearchTree.ROOT);
+
+      int end = tree.getFirstChild(SearchTree.ROOT) + tree.getChildCount(SearchTree.ROOT);
+      for (int child = tree.getFirstChild(SearchTree.ROOT); child < end; child++) {
+        int card = tree.getCard(child).getIndex();
+        visits[card] += tree.getVisit(child);
+        wins[card] += tree.getWins(child);
+      }
+    }
+
+    int best = -1;
+    for (int card = 0; card < Card.DECK_SIZE; card++) {
+      if (visits[card] > 0 && (best < 0 || visits[card] > visits[best])) {
+        best = card;
+      }
+    }
+
+    return best < 0 ? rootWins / rootVisits : wins[best] / visits[best];
+  }
+
+  /**
+   * Searches the root tree with several threads at once.
+   * @param start the time the search started at
+   * @param budgetNanos the time to search for in nanoseconds, or 0 for no time limit
+   * @param maxIterations the most iterations to run over all threads, or 0 for no iteration limit
+   * @param threads the amount of threads to search with
+   * @return the amount of iterations run over all threads
+   */
+  private int searchShared(long start, long budgetNanos, int maxIterations, int threads) {
+    AtomicInteger claims = new AtomicInteger();
+    List<SharedSearch> searches = new ArrayList<>(threads);
+    for (int i = 0; i < threads; i++) {
+      searches.add(new SharedSearch(rand.split(), start, budgetNanos, maxIterations, claims));
+    }
+
+    runAll(searches);
+
+    int total = 0;
+    for (SharedSearch search : searches) {
+      total += search.iterations;
+    }
+
+    return total;
+  }
+
+  /**
+   * Runs tasks on the common fork-join pool and waits for all of them to complete.
+   * @param tasks the tasks to run
+   */
+  private static void runAll(List<? extends RecursiveAction> tasks) {
+    ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+      @Override
+      protected void compute() {
+        invokeAll(tasks);
+      }
+    });
+  }
+
+  /**
+   * Runs a single iteration of the search.
+   * @param root the root of the tree to search
+   * @param rand the random source of the search
+   * @param shared whether other threads are searching the same tree
+   */
+  private void iterate(PokerNode root, RandomSource rand, boolean shared) {
+    // Phase 1 - Selection
+    PokerNode promisingNode = selectPromisingNode(root, shared);
+
+    // Phase 2 - Expansion
+    if (promisingNode.getState().stillPlaying()) {
+      expandNode(promisingNode);
+    }
+
+    // Phase 3 - Simulation
+    PokerNode nodeToExplore = promisingNode;
+    if (promisingNode.getChildren().size() > 0) {
+      nodeToExplore = promisingNode.getRandomChild(rand);
+      if (shared) {
+        nodeToExplore.getState().addVirtualLoss(1);
+      }
+    }
+
+    double result = simulateRandomPlayout(nodeToExplore);
+    // Phase 4 - Update
+    backPropagation(nodeToExplore, result, shared);
+  }
+
   /**
    * Calculates the Upper Confidence Bound 1 Applied to Trees of a node.
    * @param totalVisits the total amount of times nodes in this branch has been visited
@@ -129,55 +569,79 @@ public class ComputerBrain {
   }
 
   /**
-   * Selects the best child node based on their UCT value
-   * @param root
-   * @return
+   * Selects the best child node based on their UCT value. Searches in progress on other threads
+   * count as visits without winnings.
+   * @param root the root of the tree to search
+   * @param shared whether to add a virtual loss to every node selected
+   * @return the leaf node selected
    */
-  private PokerNode selectPromisingNode(PokerNode root) {
+  private PokerNode selectPromisingNode(PokerNode root, boolean shared) {
     PokerNode base = root;
+    if (shared) {
+      base.getState().addVirtualLoss(1);
+    }
+
     while (base.getChildren().size() != 0) {
-      int parentVisits = base.getState().getVisit();
-      base = Collections.max(base.getChildren(), Comparator.comparing(child ->
-              uctValue(parentVisits, child.getState().getVisit(), child.getState().getWinCount())));
+      PokerState state = base.getState();
+      int parentVisits = state.getVisit() + state.getVirtualLoss();
+      base = Collections.max(base.getChildren(), Comparator.comparing(child -> {
+        PokerState childState = child.getState();
+        return uctValue(parentVisits, childState.getVisit() + childState.getVirtualLoss(),
+                childState.getWinCount());
+      }));
+      if (shared) {
+        base.getState().addVirtualLoss(1);
+      }
     }
     return base;
   }
 
   /**
-   * Expands a node by generating all of its possible children.
+   * Expands a node by generating all of its possible children. If another thread expands the
+   * node first, its children are kept instead.
    * @param node the node to expand
    */
   private void expandNode(PokerNode node) {
+    if (!node.getChildren().isEmpty()) {
+      return;
+    }
+
     List<PokerState> states = node.getState().generateStates();
+    List<PokerNode> children = new ArrayList<>(states.size());
     states.forEach(state -> {
       PokerNode newNode = new PokerNode(state);
       newNode.setParent(node);
-      node.addChild(newNode);
+      children.add(newNode);
     });
+    node.installChildren(children);
   }
 
   /**
    * Propagates the results of a playout back to the root.
    * @param leaf the leaf from which to start the back propagation
    * @param winnings the win factor
+   * @param shared whether to remove the virtual loss added during selection
    */
-  private void backPropagation(PokerNode leaf, double winnings) {
+  private void backPropagation(PokerNode leaf, double winnings, boolean shared) {
     PokerNode tempNode = leaf;
     while (tempNode != null) {
       tempNode.getState().incrementVisit();
       tempNode.getState().incrementWins(winnings);
+      if (shared) {
+        tempNode.getState().addVirtualLoss(-1);
+      }
       tempNode = tempNode.getParent();
     }
   }
 
   /**
-   * Simulates playing a game to the end.
+   * Simulates playing a game to the end on a copy of the state of a node, so the node itself can
+   * still be expanded later.
    * @param node the beginning state of the game
    * @return the result of the playout
    */
   private double simulateRandomPlayout(PokerNode node) {
-    PokerNode tempNode = new PokerNode(node);
-    PokerState tempState = tempNode.getState();
+    PokerState tempState = node.getState().fork();
 
     while (tempState.stillPlaying()) {
       tempState.randomPlay();
@@ -186,6 +650,108 @@ public class ComputerBrain {
     return tempState.winFactor();
   }
 
+  /**
+   * The ways a search can be shared between several threads.
+   */
+  public enum Parallelism {
+    ROOT, TREE
+  }
+
+  /**
+   * Searches one tree of a root parallel search.
+   */
+  private class TreeSearch extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final PokerNode tree;
+    private final RandomSource rand;
+    private final long start;
+    private final long budgetNanos;
+    private final int maxIterations;
+    private int iterations;
+
+    private TreeSearch(PokerNode tree, RandomSource rand, long start, long budgetNanos,
+                       int maxIterations) {
+      this.tree = tree;
+      this.rand = rand;
+      this.start = start;
+      this.budgetNanos = budgetNanos;
+      this.maxIterations = maxIterations;
+    }
+
+    @Override
+    protected void compute() {
+      iterations = search(() -> iterate(tree, rand, false), start, budgetNanos, maxIterations);
+    }
+  }
+
+  /**
+   * Searches one compact tree of a root parallel search.
+   */
+  private class CompactSearch extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final SearchTree tree;
+    private final RandomSource rand;
+    private final long start;
+    private final long budgetNanos;
+    private final int maxIterations;
+    private int iterations;
+
+    private CompactSearch(SearchTree tree, RandomSource rand, long start, long budgetNanos,
+                          int maxIterations) {
+      this.tree = tree;
+      this.rand = rand;
+      this.start = start;
+      this.budgetNanos = budgetNanos;
+      this.maxIterations = maxIterations;
+    }
+
+    @Override
+    protected void compute() {
+      iterations = search(() -> tree.iterate(rand), start, budgetNanos, maxIterations);
+    }
+  }
+
+  /**
+   * Runs one thread of a tree parallel search, claiming iterations from a shared counter.
+   */
+  private class SharedSearch extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final RandomSource rand;
+    private final long start;
+    private final long budgetNanos;
+    private final int maxIterations;
+    private final AtomicInteger claims;
+    private int iterations;
+
+    private SharedSearch(RandomSource rand, long start, long budgetNanos, int maxIterations,
+                         AtomicInteger claims) {
+      this.rand = rand;
+      this.start = start;
+      this.budgetNanos = budgetNanos;
+      this.maxIterations = maxIterations;
+      this.claims = claims;
+    }
+
+    @Override
+    protected void compute() {
+      boolean searching = maxIterations == 0 || claims.getAndIncrement() < maxIterations;
+      while (searching) {
+        iterate(root, rand, true);
+        iterations++;
+
+        if (maxIterations > 0 && claims.getAndIncrement() >= maxIterations) {
+          searching = false;
+        }
+        else if (budgetNanos > 0 && iterations % CLOCK_STRIDE == 0) {
+          searching = System.nanoTime() - start < budgetNanos;
+        }
+      }
+    }
+  }
+
   /**
    * Determines the best possible hand each opponent could have.
    * @param board the current community cards
@@ -194,29 +760,41 @@ public class ComputerBrain {
    * @return a list of best possible hands
    */
   private List<Hand> optimalHands(List<Card> board, Deck deck, int players) {
-    FindRank logic = new FindRank();
+    BoardContext context = new BoardContext(board);
     List<Card> source = deck.allCards();
-    PriorityQueue<Hand> optimal = new PriorityQueue<>(players,
-            Comparator.comparing(hand -> logic.getRank(hand, board).getValue()));
+    Hand[] optimal = new Hand[players];
+    int[] strengths = new int[players];
+    Arrays.fill(strengths, -1);
 
     for (int i = 0; i < source.size(); i++) {
       Card first = source.get(i);
 
-      for (int j = 0; j < source.size(); j++) {
-        if (i == j) {
+      for (int j = i + 1; j < source.size(); j++) {
+        Card second = source.get(j);
+        int strength = context.evaluate(first, second);
+
+        int position = players - 1;
+        if (strength <= strengths[position]) {
           continue;
         }
 
-        Card second = source.get(j);
-        Hand option = new Hand(first, second);
-        optimal.add(option);
-
-        while (optimal.size() > players) {
-          optimal.poll();
+        while (position > 0 && strengths[position - 1] < strength) {
+          strengths[position] = strengths[position - 1];
+          optimal[position] = optimal[position - 1];
+          position--;
         }
+        strengths[position] = strength;
+        optimal[position] = new Hand(first, second);
+      }
+    }
+
+    List<Hand> result = new ArrayList<>();
+    for (Hand hand : optimal) {
+      if (hand != null) {
+        result.add(hand);
       }
     }
 
-    return new ArrayList<>(optimal);
+    return result;
   }
 }
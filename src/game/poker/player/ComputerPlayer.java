@@ -1,15 +1,23 @@
 package game.poker.player;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
 
 import game.deck.Card;
+import game.deck.Hand;
+import game.poker.player.decision.SearchTree;
 import game.poker.rules.HandRank;
+import game.util.RandomSource;
 
 /**
  * Represents a computer player.
  */
 public class ComputerPlayer extends PokerPlayer {
+  private final RandomSource rand;
+  private long budgetNanos = 0;
+  private int maxIterations = ComputerBrain.SAMPLES;
+  private SearchTree[] trees = {new SearchTree()};
+  private ComputerBrain brain;
 
   /**
    * Constructs a ComputerPlayer.
@@ -17,15 +25,67 @@ public class ComputerPlayer extends PokerPlayer {
    * @param money the amount of money this computer starts with
    */
   public ComputerPlayer(int port, int money) {
+    this(port, money, RandomSource.create());
+  }
+
+  /**
+   * Constructs a ComputerPlayer whose decisions are driven by a random source.
+   * @param port the ID of this computer
+   * @param money the amount of money this computer starts with
+   * @param rand the random source, split once for every decision
+   */
+  public ComputerPlayer(int port, int money, RandomSource rand) {
     super(port, money);
+    this.rand = rand;
+  }
+
+  /**
+   * Limits the search run for every decision. The search stops at whichever limit is reached
+   * first.
+   * @param budgetNanos the time to search for in nanoseconds, or 0 for no time limit
+   * @param maxIterations the most iterations to run, or 0 for no iteration limit
+   */
+  public void setDecisionBudget(long budgetNanos, int maxIterations) {
+    this.budgetNanos = budgetNanos;
+    this.maxIterations = maxIterations;
+  }
+
+  /**
+   * Sets the amount of threads searching for every decision. Each thread searches a tree of its
+   * own on the common fork-join pool, and their findings are added together before betting.
+   * Changing the amount of threads starts the search again at the next decision.
+   * @param threads the amount of threads, 1 by default
+   * @throws IllegalArgumentException if there are no threads
+   */
+  public void setSearchThreads(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Search needs at least one thread");
+    }
+
+    if (threads != trees.length) {
+      int kept = Math.min(threads, trees.length);
+      trees = Arrays.copyOf(trees, threads);
+      for (int i = kept; i < threads; i++) {
+        trees[i] = new SearchTree();
+      }
+    }
   }
 
   /**
-   * Determines a proper amount to bet.
+   * Determines a proper amount to bet. The same search is carried on for every decision of a
+   * hand, so later decisions start from what earlier ones found. The search starts again if the
+   * community cards or the amount of opponents differ from the ones it was started for, such as
+   * after an opponent folds.
    */
   public void calculateBet(List<Card> board, int players, int currentBet) {
-    ComputerBrain brain = new ComputerBrain(getHand(), board, players, currentBet);
-    int result = brain.calculateBet();
+    if (brain == null || !brain.matches(board, players)) {
+      brain = new ComputerBrain(getHand(), board, players, currentBet, rand.split());
+    }
+    else {
+      brain.setCurrentBet(currentBet);
+    }
+
+    int result = brain.calculateBet(trees, budgetNanos, maxIterations);
     if (result == 0) {
       fold();
     }
@@ -33,4 +93,21 @@ public class ComputerPlayer extends PokerPlayer {
       bet(result - getBet());
     }
   }
+
+  /**
+   * Tells this computer about a newly revealed community card, moving its search on to that
+   * card. A search that can't follow the card is dropped and started again at the next decision.
+   * @param card the card revealed
+   */
+  public void revealCard(Card card) {
+    if (brain != null && !brain.advance(card)) {
+      brain = null;
+    }
+  }
+
+  @Override
+  public void initHand(Hand hand) {
+    super.initHand(hand);
+    brain = null;
+  }
 }
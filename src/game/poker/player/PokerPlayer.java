@@ -5,8 +5,9 @@ import java.util.List;
 
 import game.deck.Card;
 import game.deck.Hand;
-import game.poker.rules.FindRank;
+import game.poker.rules.BestFive;
 import game.poker.rules.HandRank;
+import game.poker.rules.HandValue;
 
 /**
  * Represents a poker player.
@@ -18,6 +19,7 @@ public class PokerPlayer {
   private int port;
   private int money;
   private Hand hand;
+  private HandValue value;
 
   /**
    * Constructs a poker player.
@@ -50,6 +52,7 @@ public class PokerPlayer {
     for (Card c : cards) {
       hand.addCard(c);
     }
+    this.value = null;
   }
 
   /**
@@ -58,6 +61,7 @@ public class PokerPlayer {
    */
   public void initHand(Hand hand) {
     this.hand = hand;
+    this.value = null;
     this.curBet = 0;
   }
 
@@ -80,32 +84,28 @@ public class PokerPlayer {
    * @return the type of the highest ranked hand of this player
    */
   public HandRank getRank() {
-    FindRank logic = new FindRank(hand);
-
-    return logic.getRank();
+    return getValue().getRank();
   }
 
   /**
-   * Retrieves the highest ranked hand this player has.
-   * @return the highest ranked hand of this player
+   * Gets the value of the highest ranked hand this player has, including its kickers.
+   * The value is evaluated once and kept until this player's hand changes.
+   * @return the value of the highest ranked hand of this player
    */
-  public Hand getRankedHand() {
-    FindRank logic = new FindRank(hand);
+  public HandValue getValue() {
+    if (value == null) {
+      value = HandValue.of(hand);
+    }
 
-    return logic.getRankedHand();
+    return value;
   }
 
   /**
-   * Calculates the sum of each card value from the player's highest ranked hand.
+   * Retrieves the highest ranked hand this player has.
    * @return the highest ranked hand of this player
    */
-  public int totalRankedSum() {
-    int total = 0;
-    for (Card card : getRankedHand().getCards()) {
-      total += card.getRank();
-    }
-
-    return total;
+  public Hand getRankedHand() {
+    return BestFive.extract(hand.getCards());
   }
 
   /**
@@ -0,0 +1,79 @@
+package game.poker.player;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import game.deck.Card;
+import game.deck.Rank;
+import game.deck.Suit;
+import game.util.RandomSource;
+
+/**
+ * Measures the iterations per second of the root parallel and the tree parallel search for an
+ * increasing amount of threads at a fixed time budget.
+ */
+public class SearchBenchmark {
+  private static final List<Card> HAND = Arrays.asList(Card.of(Suit.Clubs, Rank.Nine),
+          Card.of(Suit.Diamonds, Rank.Ten));
+  private static final List<Card> BOARD = Arrays.asList(Card.of(Suit.Hearts, Rank.Jack),
+          Card.of(Suit.Spades, Rank.Four), Card.of(Suit.Spades, Rank.King));
+
+  /**
+   * Runs the benchmark.
+   * @param args optionally the time budget of each decision in milliseconds, 100 by default, and
+   *             the amount of decisions for each amount of threads and way of sharing the
+   *             search, 10 by default
+   */
+  public static void main(String[] args) {
+    long budget = TimeUnit.MILLISECONDS.toNanos(args.length > 0 ? Long.parseLong(args[0]) : 100);
+    int decisions = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+    int cores = ForkJoinPool.getCommonPoolParallelism();
+    RandomSource rand = RandomSource.seeded(22);
+
+    System.out.printf("%d ms per decision, common pool parallelism %d%n",
+            TimeUnit.NANOSECONDS.toMillis(budget), cores);
+    for (int threads = 1; threads <= Math.max(cores, 1); threads *= 2) {
+      for (ComputerBrain.Parallelism parallelism : ComputerBrain.Parallelism.values()) {
+        measure(threads, parallelism, budget, decisions, rand);
+      }
+    }
+
+    System.out.printf("%8s %6s %12s %14s%n", "threads", "mode", "iterations", "iterations/s");
+    for (int threads = 1; threads <= Math.max(cores, 1); threads *= 2) {
+      for (ComputerBrain.Parallelism parallelism : ComputerBrain.Parallelism.values()) {
+        long iterations = 0;
+        long nanos = 0;
+        for (int n = 0; n < decisions; n++) {
+          ComputerBrain brain = measure(threads, parallelism, budget, 1, rand);
+          iterations += brain.getIterations();
+          nanos += brain.getElapsedNanos();
+        }
+
+        System.out.printf("%8d %6s %12d %14.0f%n", threads, parallelism, iterations / decisions,
+                iterations / (nanos / 1e9));
+      }
+    }
+  }
+
+  /**
+   * Runs a number of decisions.
+   * @param threads the amount of threads to search with
+   * @param parallelism how the threads share the search
+   * @param budget the time budget of each decision in nanoseconds
+   * @param decisions the amount of decisions
+   * @param rand the random source to split for each decision
+   * @return the brain of the last decision
+   */
+  private static ComputerBrain measure(int threads, ComputerBrain.Parallelism parallelism,
+                                       long budget, int decisions, RandomSource rand) {
+    ComputerBrain brain = null;
+    for (int n = 0; n < decisions; n++) {
+      brain = new ComputerBrain(HAND, BOARD, 2, 100, rand.split());
+      brain.calculateBet(budget, 0, threads, parallelism);
+    }
+
+    return brain;
+  }
+}
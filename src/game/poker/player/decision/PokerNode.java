@@ -4,14 +4,21 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import game.util.RandomSource;
 
 /**
  * Represents a node in a Monte Carlo Tree.
  */
 public class PokerNode {
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<PokerNode, List> CHILDREN =
+          AtomicReferenceFieldUpdater.newUpdater(PokerNode.class, List.class, "children");
+
   private PokerState state;
   private PokerNode parent;
-  private List<PokerNode> children;
+  private volatile List<PokerNode> children;
 
   /**
    * Constructs a PokerNode given the current state of the game.
@@ -43,11 +50,11 @@ public class PokerNode {
 
   /**
    * Retrieves a random child.
+   * @param rand the random source to choose with
    * @return a random child node
    */
-  public PokerNode getRandomChild() {
-    int bound = this.children.size();
-    int selection = (int) (Math.random() * bound);
+  public PokerNode getRandomChild(RandomSource rand) {
+    int selection = rand.nextInt(this.children.size());
     return this.children.get(selection);
   }
 
@@ -107,6 +114,17 @@ public class PokerNode {
     this.children = children;
   }
 
+  /**
+   * Installs the children of a node that has none yet. When several threads expand the same node
+   * at once, only the first to install its children succeeds.
+   * @param children the complete list of child nodes
+   * @return whether the children were installed
+   */
+  public boolean installChildren(List<PokerNode> children) {
+    List<PokerNode> current = this.children;
+    return current.isEmpty() && CHILDREN.compareAndSet(this, current, children);
+  }
+
   /**
    * Adds a child node.
    * @param node the child node to add
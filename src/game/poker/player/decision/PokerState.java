@@ -2,27 +2,41 @@ package game.poker.player.decision;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import game.deck.Card;
 import game.deck.Deck;
 import game.deck.Hand;
-import game.deck.StandardDeck;
-import game.poker.rules.FindRank;
 import game.poker.rules.HandRank;
+import game.poker.rules.IncrementalEvaluator;
 
 /**
  * Represents tne current status of a Poker game.
+ *
+ * <p>The visit and win counters are updated atomically, so a state can be searched by several
+ * threads at once. Forking the state or generating its children splits the random source of the
+ * deck, which is not thread safe, so those are synchronized on the state.</p>
  */
 public class PokerState {
+  private static final AtomicIntegerFieldUpdater<PokerState> VISIT =
+          AtomicIntegerFieldUpdater.newUpdater(PokerState.class, "visit");
+  private static final AtomicIntegerFieldUpdater<PokerState> VIRTUAL_LOSS =
+          AtomicIntegerFieldUpdater.newUpdater(PokerState.class, "virtualLoss");
+  private static final AtomicLongFieldUpdater<PokerState> WIN_BITS =
+          AtomicLongFieldUpdater.newUpdater(PokerState.class, "winBits");
+
   private List<Card> hand;
   private List<Card> board;
   private List<Hand> opponents;
   private Deck deck;
-  private FindRank logic = new FindRank();
-  private int visit = 0;
-  private double winCount = 0;
+  private IncrementalEvaluator runout;
+  private final Card drawn;
+  private volatile int visit = 0;
+  private volatile int virtualLoss = 0;
+  private volatile long winBits = Double.doubleToRawLongBits(0);
 
   /**
    * Constructs a PokerState given game information.
@@ -32,27 +46,56 @@ public class PokerState {
    * @param deck the current deck of cards
    */
   public PokerState(List<Card> hand, List<Card> board, List<Hand> opponents, Deck deck) {
+    this(hand, board, opponents, deck, new IncrementalEvaluator(board), null);
+  }
+
+  /**
+   * Constructs a PokerState that continues the evaluation of an earlier board.
+   * @param hand the hand of the computer
+   * @param board the community cards
+   * @param opponents the hand each opponents has
+   * @param deck the current deck of cards
+   * @param runout the running evaluation of the community cards
+   * @param drawn the card drawn to reach the state, or null for a starting state
+   */
+  private PokerState(List<Card> hand, List<Card> board, List<Hand> opponents, Deck deck,
+                     IncrementalEvaluator runout, Card drawn) {
     this.hand = hand;
     this.board = board;
     this.opponents = opponents;
     this.deck = deck;
+    this.runout = runout;
+    this.drawn = drawn;
+  }
+
+  /**
+   * Creates a copy of this state with a deck of its own and no visits, so that it can be searched
+   * separately. The copy generates the same states in the same order as this one.
+   * @return the new state
+   */
+  public synchronized PokerState fork() {
+    return new PokerState(hand, new ArrayList<>(board), opponents, deck.fork(),
+            new IncrementalEvaluator(runout), drawn);
   }
 
   /**
    * Generates all possible game states.
    * @return a list of all possible game states
    */
-  public List<PokerState> generateStates() {
+  public synchronized List<PokerState> generateStates() {
     List<PokerState> states = new ArrayList<>();
     for (int i = 0; i < deck.remainingCards(); i++) {
-      Deck spareDeck = new StandardDeck();
-      spareDeck.setStreamCards(deck.allCards());
+      Deck spareDeck = deck.fork();
       Card drawnCard = spareDeck.drawAtPosition(i);
 
       List<Card> newCommunity = new ArrayList<>(board);
       newCommunity.add(drawnCard);
 
-      PokerState state = new PokerState(hand, newCommunity, opponents, spareDeck);
+      IncrementalEvaluator newRunout = new IncrementalEvaluator(runout);
+      newRunout.add(drawnCard);
+
+      PokerState state = new PokerState(hand, newCommunity, opponents, spareDeck, newRunout,
+              drawnCard);
       states.add(state);
     }
 
@@ -64,11 +107,11 @@ public class PokerState {
    * @return the points won at this state
    */
   public double winFactor() {
-    HandRank selfRank = logic.getRank(new Hand(hand), board);
+    HandRank selfRank = HandRank.fromStrength(runout.strengthWith(hand));
     HandRank maxRank = HandRank.High_Card;
     for (Hand opponent : opponents) {
-      HandRank opponentRank = logic.getRank(opponent, board);
-      
+      HandRank opponentRank = HandRank.fromStrength(runout.strengthWith(opponent.getCards()));
+
       if (opponentRank.getValue() > maxRank.getValue()) {
         maxRank = opponentRank;
       }
@@ -97,6 +140,7 @@ public class PokerState {
   public void randomPlay() {
     Card card = deck.drawCard();
     board.add(card);
+    runout.add(card);
   }
 
   /**
@@ -111,7 +155,7 @@ public class PokerState {
    * Increments the amount of times this state has been reached.
    */
   public void incrementVisit() {
-    this.visit += 1;
+    VISIT.incrementAndGet(this);
   }
 
   /**
@@ -119,7 +163,45 @@ public class PokerState {
    * @param count the amount of points to add
    */
   public void incrementWins(double count) {
-    this.winCount += count;
+    long bits;
+    do {
+      bits = winBits;
+    } while (!WIN_BITS.compareAndSet(this, bits,
+            Double.doubleToRawLongBits(Double.longBitsToDouble(bits) + count)));
+  }
+
+  /**
+   * Changes the amount of searches currently passing through this state, each of which counts as
+   * a visit without winnings until it completes.
+   * @param amount the amount to add, negative to remove
+   */
+  public void addVirtualLoss(int amount) {
+    VIRTUAL_LOSS.addAndGet(this, amount);
+  }
+
+  /**
+   * Retrieves the amount of searches currently passing through this state.
+   * @return the virtual loss
+   */
+  public int getVirtualLoss() {
+    return virtualLoss;
+  }
+
+  /**
+   * Adds the visits and points won of another state to this one.
+   * @param other the state to add
+   */
+  public void addStatistics(PokerState other) {
+    VISIT.addAndGet(this, other.visit);
+    incrementWins(other.getWinCount());
+  }
+
+  /**
+   * Retrieves the card drawn to reach this state from its parent.
+   * @return the card drawn, or null for a starting state
+   */
+  public Card getDrawnCard() {
+    return drawn;
   }
 
   /**
@@ -135,6 +217,6 @@ public class PokerState {
    * @return the win count
    */
   public double getWinCount() {
-    return winCount;
+    return Double.longBitsToDouble(winBits);
   }
 }
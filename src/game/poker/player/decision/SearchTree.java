@@ -0,0 +1,429 @@
+package game.poker.player.decision;
+
+import java.util.Arrays;
+
+import game.deck.Card;
+import game.poker.rules.HandEvaluator;
+import game.util.RandomSource;
+
+/**
+ * Represents a Monte Carlo Tree held in parallel primitive arrays.
+ *
+ * <p>Each node is a number indexing the arrays of visits, winnings, parent, first child and
+ * amount of children. The children of a node are numbered consecutively. The state of a node is
+ * the card mask of its community cards together with the card drawn to reach it, and the cards
+ * left to draw are every card not yet seen. The arrays only ever grow, so a tree can be
+ * {@link #reset} and reused for every decision without allocating.</p>
+ *
+ * <p>When a community card is revealed, the child of the root for that card can be
+ * {@link #promote promoted} to be the new root. Its subtree is copied into a spare set of arrays
+ * with its statistics kept, the spare arrays take the place of the tree and the rest of the tree
+ * is dropped. The spare arrays are kept for the next promotion, and grow like the tree.</p>
+ */
+public class SearchTree {
+  public static final int ROOT = 0;
+  private static final int DEFAULT_CAPACITY = 1 << 10;
+  private static final int BOARD_SIZE = 5;
+  private static final long FULL_DECK = (1L << Card.DECK_SIZE) - 1;
+
+  private int[] visits;
+  private double[] wins;
+  private int[] parents;
+  private int[] firstChildren;
+  private int[] childCounts;
+  private long[] boards;
+  private byte[] cards;
+  private int size;
+
+  private int[] order;
+  private int[] spareVisits;
+  private double[] spareWins;
+  private int[] spareParents;
+  private int[] spareFirstChildren;
+  private int[] spareChildCounts;
+  private long[] spareBoards;
+  private byte[] spareCards;
+
+  private long hand;
+  private long[] opponents;
+  private long unseen;
+
+  /**
+   * Constructs an empty SearchTree.
+   */
+  public SearchTree() {
+    this.visits = new int[DEFAULT_CAPACITY];
+    this.wins = new double[DEFAULT_CAPACITY];
+    this.parents = new int[DEFAULT_CAPACITY];
+    this.firstChildren = new int[DEFAULT_CAPACITY];
+    this.childCounts = new int[DEFAULT_CAPACITY];
+    this.boards = new long[DEFAULT_CAPACITY];
+    this.cards = new byte[DEFAULT_CAPACITY];
+    this.order = new int[0];
+    this.spareVisits = new int[0];
+    this.spareWins = new double[0];
+    this.spareParents = new int[0];
+    this.spareFirstChildren = new int[0];
+    this.spareChildCounts = new int[0];
+    this.spareBoards = new long[0];
+    this.spareCards = new byte[0];
+    this.opponents = new long[0];
+  }
+
+  /**
+   * Clears the tree and starts it from a new root, keeping the arrays already allocated.
+   * @param hand the card mask of the hand of the computer
+   * @param board the card mask of the community cards
+   * @param opponents the card mask of the hand of each opponent
+   * @param dead the card mask of every card that can't be drawn, such as known and burned cards
+   */
+  public void reset(long hand, long board, long[] opponents, long dead) {
+    this.hand = hand;
+    this.opponents = opponents.clone();
+    this.unseen = FULL_DECK & ~(dead | hand | board);
+    for (long opponent : opponents) {
+      unseen &= ~opponent;
+    }
+
+    size = 0;
+    add(-1, board, -1);
+  }
+
+  /**
+   * Makes the child of the root for a revealed community card the new root, keeping its
+   * subtree and dropping the rest of the tree.
+   * @param card the card revealed
+   * @return whether the root had a child for the card, if not the tree is left unchanged
+   */
+  public boolean promote(Card card) {
+    int promoted = -1;
+    int end = firstChildren[ROOT] + childCounts[ROOT];
+    for (int child = firstChildren[ROOT]; child < end; child++) {
+      if (cards[child] == card.getIndex()) {
+        promoted = child;
+      }
+    }
+    if (promoted < 0) {
+      return false;
+    }
+
+    // Number the subtree breadth first, so that every block of children stays consecutive
+    ensureSpare();
+    order[0] = promoted;
+    spareParents[0] = -1;
+    int count = 1;
+    for (int i = 0; i < count; i++) {
+      int node = order[i];
+      spareFirstChildren[i] = childCounts[node] > 0 ? count : 0;
+      for (int child = 0; child < childCounts[node]; child++) {
+        spareParents[count] = i;
+        order[count++] = firstChildren[node] + child;
+      }
+    }
+
+    for (int i = 0; i < count; i++) {
+      spareVisits[i] = visits[order[i]];
+      spareWins[i] = wins[order[i]];
+      spareChildCounts[i] = childCounts[order[i]];
+      spareBoards[i] = boards[order[i]];
+      spareCards[i] = cards[order[i]];
+    }
+
+    int[] swapVisits = visits;
+    visits = spareVisits;
+    spareVisits = swapVisits;
+    double[] swapWins = wins;
+    wins = spareWins;
+    spareWins = swapWins;
+    int[] swapParents = parents;
+    parents = spareParents;
+    spareParents = swapParents;
+    int[] swapFirstChildren = firstChildren;
+    firstChildren = spareFirstChildren;
+    spareFirstChildren = swapFirstChildren;
+    int[] swapChildCounts = childCounts;
+    childCounts = spareChildCounts;
+    spareChildCounts = swapChildCounts;
+    long[] swapBoards = boards;
+    boards = spareBoards;
+    spareBoards = swapBoards;
+    byte[] swapCards = cards;
+    cards = spareCards;
+    spareCards = swapCards;
+    size = count;
+
+    return true;
+  }
+
+  /**
+   * Runs a single iteration of the search: selects a leaf, expands it, plays out one of its
+   * children and propagates the result back to the root.
+   * @param rand the random source of the search
+   */
+  public void iterate(RandomSource rand) {
+    // Phase 1 - Selection
+    int promising = selectPromisingNode();
+
+    // Phase 2 - Expansion
+    if (stillPlaying(promising)) {
+      expand(promising);
+    }
+
+    // Phase 3 - Simulation
+    int explore = promising;
+    if (childCounts[promising] > 0) {
+      explore = firstChildren[promising] + rand.nextInt(childCounts[promising]);
+    }
+
+    double result = playout(explore, rand);
+    // Phase 4 - Update
+    for (int node = explore; node >= 0; node = parents[node]) {
+      visits[node]++;
+      wins[node] += result;
+    }
+  }
+
+  /**
+   * Retrieves the child of a node that has been visited the most.
+   * @param node the node
+   * @return the most visited child, or -1 if the node has no children
+   */
+  public int getBestChild(int node) {
+    int best = -1;
+    int end = firstChildren[node] + childCounts[node];
+    for (int child = firstChildren[node]; child < end; child++) {
+      if (best < 0 || visits[child] > visits[best]) {
+        best = child;
+      }
+    }
+
+    return best;
+  }
+
+  /**
+   * Determines the score of a node.
+   * @param node the node
+   * @return the average points won per visit
+   */
+  public double calculateScore(int node) {
+    return wins[node] / visits[node];
+  }
+
+  /**
+   * Retrieves the number of visits of a node.
+   * @param node the node
+   * @return the number of visits
+   */
+  public int getVisit(int node) {
+    return visits[node];
+  }
+
+  /**
+   * Retrieves the points won by the playouts through a node.
+   * @param node the node
+   * @return the points won
+   */
+  public double getWins(int node) {
+    return wins[node];
+  }
+
+  /**
+   * Retrieves the first child of a node. The children of a node are numbered consecutively.
+   * @param node the node
+   * @return the first child, only meaningful if the node has children
+   */
+  public int getFirstChild(int node) {
+    return firstChildren[node];
+  }
+
+  /**
+   * Retrieves the amount of children of a node.
+   * @param node the node
+   * @return the amount of children, 0 if the node hasn't been expanded
+   */
+  public int getChildCount(int node) {
+    return childCounts[node];
+  }
+
+  /**
+   * Retrieves the card drawn to reach a node.
+   * @param node the node
+   * @return the card drawn, or null for a root started by {@link #reset}
+   */
+  public Card getCard(int node) {
+    return cards[node] < 0 ? null : Card.of(cards[node]);
+  }
+
+  /**
+   * Retrieves the amount of nodes in the tree.
+   * @return the amount of nodes
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Retrieves the amount of nodes the tree can hold before growing.
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return visits.length;
+  }
+
+  /**
+   * Selects the leaf reached by following the child with the best UCT value from the root.
+   * @return the leaf node selected
+   */
+  private int selectPromisingNode() {
+    int node = ROOT;
+    while (childCounts[node] > 0) {
+      double logVisits = Math.log(visits[node]);
+      int best = firstChildren[node];
+      double bestValue = Double.NEGATIVE_INFINITY;
+      int end = firstChildren[node] + childCounts[node];
+      for (int child = firstChildren[node]; child < end; child++) {
+        double value = visits[child] == 0 ? Integer.MAX_VALUE
+                : wins[child] / visits[child] + 1.41 * Math.sqrt(logVisits / visits[child]);
+        if (value > bestValue) {
+          best = child;
+          bestValue = value;
+        }
+      }
+      node = best;
+    }
+
+    return node;
+  }
+
+  /**
+   * Expands a node with one child for every card that can be drawn next.
+   * @param node the node to expand
+   */
+  private void expand(int node) {
+    long board = boards[node];
+    long available = unseen & ~board;
+    ensureCapacity(size + Long.bitCount(available));
+
+    firstChildren[node] = size;
+    childCounts[node] = Long.bitCount(available);
+    for (long rest = available; rest != 0; rest &= rest - 1) {
+      int card = Long.numberOfTrailingZeros(rest);
+      add(node, board | 1L << card, card);
+    }
+  }
+
+  /**
+   * Plays the community cards of a node out to the end with random cards.
+   * @param node the node to play from
+   * @param rand the random source to draw with
+   * @return the points won by the playout
+   */
+  private double playout(int node, RandomSource rand) {
+    long board = boards[node];
+    long available = unseen & ~board;
+    for (int count = Long.bitCount(board); count < BOARD_SIZE; count++) {
+      long rest = available;
+      for (int skip = rand.nextInt(Long.bitCount(available)); skip > 0; skip--) {
+        rest &= rest - 1;
+      }
+
+      long bit = rest & -rest;
+      board |= bit;
+      available &= ~bit;
+    }
+
+    return winFactor(board);
+  }
+
+  /**
+   * Determines the amount of points won with a complete set of community cards.
+   * @param board the card mask of the community cards
+   * @return the points won
+   */
+  private double winFactor(long board) {
+    int selfValue = HandEvaluator.category(HandEvaluator.evaluate(hand | board));
+    int oppValue = 1;
+    for (long opponent : opponents) {
+      int value = HandEvaluator.category(HandEvaluator.evaluate(opponent | board));
+      oppValue = Math.max(oppValue, value);
+    }
+
+    if (selfValue > oppValue) {
+      return 1;
+    }
+    else if (selfValue + 1 > oppValue) {
+      return 0.5;
+    }
+    else if (selfValue + 2 > oppValue) {
+      return 0.2;
+    }
+    else {
+      return 0;
+    }
+  }
+
+  /**
+   * Determines if a node still has community cards to come.
+   * @param node the node
+   * @return if the game is still being played at the node
+   */
+  private boolean stillPlaying(int node) {
+    return Long.bitCount(boards[node]) < BOARD_SIZE;
+  }
+
+  /**
+   * Adds a node with no visits or children.
+   * @param parent the parent node, or -1 for the root
+   * @param board the card mask of the community cards at the node
+   * @param card the card drawn to reach the node, or -1 for the root
+   */
+  private void add(int parent, long board, int card) {
+    ensureCapacity(size + 1);
+    visits[size] = 0;
+    wins[size] = 0;
+    parents[size] = parent;
+    firstChildren[size] = 0;
+    childCounts[size] = 0;
+    boards[size] = board;
+    cards[size] = (byte) card;
+    size++;
+  }
+
+  /**
+   * Grows the spare arrays used by {@link #promote} to the capacity of the tree.
+   */
+  private void ensureSpare() {
+    int capacity = visits.length;
+    if (spareVisits.length >= capacity) {
+      return;
+    }
+
+    order = new int[capacity];
+    spareVisits = new int[capacity];
+    spareWins = new double[capacity];
+    spareParents = new int[capacity];
+    spareFirstChildren = new int[capacity];
+    spareChildCounts = new int[capacity];
+    spareBoards = new long[capacity];
+    spareCards = new byte[capacity];
+  }
+
+  /**
+   * Grows the arrays to hold at least a given amount of nodes.
+   * @param capacity the amount of nodes to hold
+   */
+  private void ensureCapacity(int capacity) {
+    if (capacity <= visits.length) {
+      return;
+    }
+
+    int grown = Math.max(capacity, visits.length * 2);
+    visits = Arrays.copyOf(visits, grown);
+    wins = Arrays.copyOf(wins, grown);
+    parents = Arrays.copyOf(parents, grown);
+    firstChildren = Arrays.copyOf(firstChildren, grown);
+    childCounts = Arrays.copyOf(childCounts, grown);
+    boards = Arrays.copyOf(boards, grown);
+    cards = Arrays.copyOf(cards, grown);
+  }
+}
@@ -1,16 +1,31 @@
 package game.poker.player.strategy;
 
-import java.util.Random;
+import game.util.RandomSource;
 
 /**
  * Represents a somewhat aggressive betting strategy.
  */
 public class LowAggroStrat implements BetStrategy {
   private int FACTOR = 2;
+  private final RandomSource rand;
+
+  /**
+   * Constructs the strategy with an unpredictable random source.
+   */
+  public LowAggroStrat() {
+    this(RandomSource.create());
+  }
+
+  /**
+   * Constructs the strategy.
+   * @param rand the random source used to vary bets
+   */
+  public LowAggroStrat(RandomSource rand) {
+    this.rand = rand;
+  }
 
   @Override
   public int calcBet(int base) {
-    Random rand = new Random();
     int upper = base * FACTOR;
     return rand.nextInt(upper + 2 - base) + base + 1;
   }
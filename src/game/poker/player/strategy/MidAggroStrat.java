@@ -1,6 +1,6 @@
 package game.poker.player.strategy;
 
-import java.util.Random;
+import game.util.RandomSource;
 
 /**
  * Represents an aggressive betting strategy.
@@ -8,10 +8,25 @@ import java.util.Random;
 public class MidAggroStrat implements BetStrategy {
   private int UPPER_FACTOR = 5;
   private int LOWER_FACTOR = 2;
+  private final RandomSource rand;
+
+  /**
+   * Constructs the strategy with an unpredictable random source.
+   */
+  public MidAggroStrat() {
+    this(RandomSource.create());
+  }
+
+  /**
+   * Constructs the strategy.
+   * @param rand the random source used to vary bets
+   */
+  public MidAggroStrat(RandomSource rand) {
+    this.rand = rand;
+  }
 
   @Override
   public int calcBet(int base) {
-    Random rand = new Random();
     int upper = base * UPPER_FACTOR;
     int lower = base * LOWER_FACTOR;
     return rand.nextInt(upper + 1 - lower) + lower;
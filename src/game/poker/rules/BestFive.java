@@ -0,0 +1,166 @@
+package game.poker.rules;
+
+import java.util.List;
+
+import game.deck.Card;
+import game.deck.Hand;
+
+/**
+ * Extracts the five cards that make up the best hand within a set of cards.
+ */
+public final class BestFive {
+  public static final int SIZE = 5;
+
+  private static final int SUIT_SIZE = 13;
+
+  /**
+   * Amount of cards taken for each deciding rank of a hand, indexed by hand rank value.
+   */
+  private static final int[][] GROUPS = new int[HandRank.values().length + 1][];
+
+  static {
+    GROUPS[HandRank.Four_Kind.getValue()] = new int[]{4, 1};
+    GROUPS[HandRank.Full_House.getValue()] = new int[]{3, 2};
+    GROUPS[HandRank.Flush.getValue()] = new int[]{1, 1, 1, 1, 1};
+    GROUPS[HandRank.Three_Kind.getValue()] = new int[]{3, 1, 1};
+    GROUPS[HandRank.Two_Pair.getValue()] = new int[]{2, 2, 1};
+    GROUPS[HandRank.Pair.getValue()] = new int[]{2, 1, 1, 1};
+    GROUPS[HandRank.High_Card.getValue()] = new int[]{1, 1, 1, 1, 1};
+  }
+
+  private BestFive() {
+  }
+
+  /**
+   * Writes the best five cards within a set of cards into a buffer, ordered from the most to the
+   * least important card of the hand. Sets of fewer than five cards write all of their cards.
+   * @param cards the card mask
+   * @param buffer the buffer to fill with card bit indices, holding at least five entries
+   * @return the amount of cards written
+   */
+  public static int extract(long cards, int[] buffer) {
+    int strength = HandEvaluator.evaluateAll(cards);
+    HandRank rank = HandRank.fromStrength(strength);
+
+    switch (rank) {
+      case Royal_Flush:
+      case Straight_Flush:
+        return fillStraight(cards, flushSuit(cards, strength), rankAt(strength, 0), buffer);
+      case Straight:
+        return fillStraight(cards, -1, rankAt(strength, 0), buffer);
+      case Flush:
+        return fillGroups(cards, flushSuit(cards, strength), strength, GROUPS[rank.getValue()],
+                buffer);
+      default:
+        return fillGroups(cards, -1, strength, GROUPS[rank.getValue()], buffer);
+    }
+  }
+
+  /**
+   * Finds the best five cards within a list of cards.
+   * @param cards the cards
+   * @return a hand of the best five cards
+   */
+  public static Hand extract(List<Card> cards) {
+    int[] buffer = new int[SIZE];
+    int count = extract(Card.maskOf(cards), buffer);
+
+    Hand hand = new Hand();
+    for (int i = 0; i < count; i++) {
+      hand.addCard(Card.of(buffer[i]));
+    }
+
+    return hand;
+  }
+
+  /**
+   * Retrieves a deciding rank of a strength as a rank position.
+   * @param strength the strength
+   * @param position the position of the deciding rank
+   * @return the rank position from zero for a two, or -1 if there is none
+   */
+  private static int rankAt(int strength, int position) {
+    return ((strength >>> (4 * (SIZE - 1 - position))) & 0xF) - 2;
+  }
+
+  /**
+   * Finds the suit that produces a flush strength.
+   * @param cards the card mask
+   * @param strength the flush strength
+   * @return the suit ordinal
+   */
+  private static int flushSuit(long cards, int strength) {
+    int suit = 0;
+    while (HandEvaluator.flushStrengthOf(HandEvaluator.suitRanks(cards, suit)) != strength) {
+      suit++;
+    }
+
+    return suit;
+  }
+
+  /**
+   * Picks a card of a given rank that has not been picked yet.
+   * @param cards the card mask of cards still available
+   * @param suit the suit to pick from, or -1 for any suit
+   * @param rank the rank position
+   * @return the bit index of the card
+   */
+  private static int pick(long cards, int suit, int rank) {
+    if (suit >= 0) {
+      return suit * SUIT_SIZE + rank;
+    }
+
+    int index = rank;
+    while ((cards & (1L << index)) == 0) {
+      index += SUIT_SIZE;
+    }
+
+    return index;
+  }
+
+  /**
+   * Writes the five cards of a straight.
+   * @param cards the card mask
+   * @param suit the suit of a straight flush, or -1 for any suit
+   * @param high the rank position ending the straight
+   * @param buffer the buffer to fill
+   * @return the amount of cards written
+   */
+  private static int fillStraight(long cards, int suit, int high, int[] buffer) {
+    for (int i = 0; i < SIZE; i++) {
+      int rank = high - i < 0 ? SUIT_SIZE - 1 : high - i;
+      buffer[i] = pick(cards, suit, rank);
+    }
+
+    return SIZE;
+  }
+
+  /**
+   * Writes the cards of each deciding rank of a hand.
+   * @param cards the card mask
+   * @param suit the suit of a flush, or -1 for any suit
+   * @param strength the strength of the hand
+   * @param groups the amount of cards to take for each deciding rank
+   * @param buffer the buffer to fill
+   * @return the amount of cards written
+   */
+  private static int fillGroups(long cards, int suit, int strength, int[] groups, int[] buffer) {
+    long available = cards;
+    int count = 0;
+
+    for (int i = 0; i < groups.length; i++) {
+      int rank = rankAt(strength, i);
+      if (rank < 0) {
+        break;
+      }
+
+      for (int j = 0; j < groups[i]; j++) {
+        int index = pick(available, suit, rank);
+        available &= ~(1L << index);
+        buffer[count++] = index;
+      }
+    }
+
+    return count;
+  }
+}
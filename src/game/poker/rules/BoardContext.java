@@ -0,0 +1,114 @@
+package game.poker.rules;
+
+import java.util.List;
+
+import game.deck.Card;
+
+/**
+ * Holds the analysis of a fixed set of community cards so that many two card holdings can be
+ * evaluated against it by only adding the hole cards.
+ */
+public class BoardContext {
+  private static final int SUIT_SIZE = 13;
+
+  private final long board;
+  private final int key;
+  private final int twos;
+  private final int flushSuit;
+  private final int flushRanks;
+
+  /**
+   * Constructs a BoardContext for the given community cards.
+   * @param board the community cards, at most five
+   */
+  public BoardContext(List<Card> board) {
+    this(Card.maskOf(board));
+  }
+
+  /**
+   * Constructs a BoardContext for the given community cards.
+   * @param board the card mask of the community cards, at most five
+   */
+  public BoardContext(long board) {
+    if (Long.bitCount(board) > HandEvaluator.MAX_CARDS - 2) {
+      throw new IllegalArgumentException("Too many community cards");
+    }
+
+    this.board = board;
+    this.key = HandEvaluator.keySumOf(board);
+
+    int suit = -1;
+    int count = 0;
+    for (int i = 0; i < 4; i++) {
+      if (Integer.bitCount(HandEvaluator.suitRanks(board, i)) >= 3) {
+        suit = i;
+      }
+      count += HandEvaluator.suitRanks(board, i) & 1;
+    }
+
+    this.twos = count;
+    this.flushSuit = suit;
+    this.flushRanks = suit < 0 ? 0 : HandEvaluator.suitRanks(board, suit);
+  }
+
+  /**
+   * Evaluates two hole cards against the community cards. Neither card may be on the board.
+   * @param first the bit index of the first hole card
+   * @param second the bit index of the second hole card
+   * @return the strength of the best hand within the hole and community cards
+   */
+  public int evaluate(int first, int second) {
+    if (flushSuit >= 0) {
+      int ranks = flushRanks;
+      if (first / SUIT_SIZE == flushSuit) {
+        ranks |= 1 << (first % SUIT_SIZE);
+      }
+      if (second / SUIT_SIZE == flushSuit) {
+        ranks |= 1 << (second % SUIT_SIZE);
+      }
+
+      if (Integer.bitCount(ranks) >= 5) {
+        return HandEvaluator.flushStrengthOf(ranks);
+      }
+    }
+
+    int sum = key + HandEvaluator.keyOf(first) + HandEvaluator.keyOf(second);
+    int count = twos + (first % SUIT_SIZE == 0 ? 1 : 0) + (second % SUIT_SIZE == 0 ? 1 : 0);
+
+    return HandEvaluator.unsuitedStrengthOf(sum, count);
+  }
+
+  /**
+   * Evaluates two hole cards against the community cards.
+   * @param first the first hole card
+   * @param second the second hole card
+   * @return the strength of the best hand within the hole and community cards
+   */
+  public int evaluate(Card first, Card second) {
+    return evaluate(first.getIndex(), second.getIndex());
+  }
+
+  /**
+   * Evaluates any hole cards against the community cards.
+   * @param hole the hole cards
+   * @return the strength of the best hand within the hole and community cards
+   */
+  public int evaluate(List<Card> hole) {
+    long cards = Card.maskOf(hole) & ~board;
+
+    if (Long.bitCount(cards) == 2) {
+      int first = Long.numberOfTrailingZeros(cards);
+      return evaluate(first, Long.numberOfTrailingZeros(cards & (cards - 1)));
+    }
+
+    return HandEvaluator.evaluate(board | cards);
+  }
+
+  /**
+   * Retrieves the community cards.
+   * @return the card mask of the community cards
+   */
+  public long getBoard() {
+    return board;
+  }
+}
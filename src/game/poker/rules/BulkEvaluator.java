@@ -0,0 +1,128 @@
+package game.poker.rules;
+
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates many independent sets of cards at once.
+ *
+ * <p>Card masks are processed in blocks of lanes. Each block first splits every mask into its
+ * suit ranks, key sum, twos and flush ranks with straight-line arithmetic over the lanes, and
+ * only then looks up the strengths, which keeps the table lookups apart from the bit work and
+ * gives the compiler simple loops to unroll. Results are identical to
+ * {@link HandEvaluator#evaluate(long)}.</p>
+ */
+public final class BulkEvaluator {
+  public static final int LANES = 8;
+
+  private static final int SUIT_SIZE = 13;
+  private static final int SUIT_MASK = 0x1FFF;
+  private static final int PARALLEL_BLOCKS = 64;
+
+  private BulkEvaluator() {
+  }
+
+  /**
+   * Evaluates every card mask of an array.
+   * @param cards the card masks, each of at most seven cards
+   * @param strengths the array to write the strengths into, at least as long as the masks
+   */
+  public static void evaluate(long[] cards, int[] strengths) {
+    evaluate(cards, 0, strengths, 0, cards.length);
+  }
+
+  /**
+   * Evaluates a range of card masks.
+   * @param cards the card masks, each of at most seven cards
+   * @param from the position of the first card mask
+   * @param strengths the array to write the strengths into
+   * @param offset the position of the first strength
+   * @param length the amount of card masks to evaluate
+   * @throws IllegalArgumentException if a mask holds more than seven cards
+   */
+  public static void evaluate(long[] cards, int from, int[] strengths, int offset, int length) {
+    EvaluatorTables tables = HandEvaluator.tables();
+    int[] keys = new int[LANES];
+    int[] twos = new int[LANES];
+    int[] flushes = new int[LANES];
+
+    int done = 0;
+    for (; done + LANES <= length; done += LANES) {
+      evaluateBlock(tables, cards, from + done, strengths, offset + done, LANES, keys, twos,
+              flushes);
+    }
+    evaluateBlock(tables, cards, from + done, strengths, offset + done, length - done, keys,
+            twos, flushes);
+  }
+
+  /**
+   * Evaluates several holdings against the same community cards.
+   * @param board the card mask of the community cards
+   * @param holdings the card masks of the holdings, none sharing a card with the board
+   * @param strengths the array to write the strengths into, at least as long as the holdings
+   */
+  public static void evaluateAgainst(long board, long[] holdings, int[] strengths) {
+    long[] cards = new long[holdings.length];
+    for (int i = 0; i < holdings.length; i++) {
+      cards[i] = holdings[i] | board;
+    }
+
+    evaluate(cards, strengths);
+  }
+
+  /**
+   * Evaluates every card mask of an array, spreading the blocks over the common fork-join pool.
+   * @param cards the card masks, each of at most seven cards
+   * @param strengths the array to write the strengths into, at least as long as the masks
+   */
+  public static void parallelEvaluate(long[] cards, int[] strengths) {
+    int chunk = Math.max(LANES * PARALLEL_BLOCKS,
+            (cards.length + LANES - 1) / LANES * LANES / Runtime.getRuntime().availableProcessors());
+    int chunks = (cards.length + chunk - 1) / chunk;
+
+    IntStream.range(0, chunks).parallel().forEach(i -> {
+      int start = i * chunk;
+      evaluate(cards, start, strengths, start, Math.min(chunk, cards.length - start));
+    });
+  }
+
+  /**
+   * Evaluates one block of card masks.
+   * @param tables the lookup tables
+   * @param cards the card masks
+   * @param from the position of the first card mask
+   * @param strengths the array to write the strengths into
+   * @param offset the position of the first strength
+   * @param lanes the amount of card masks in the block, at most {@link #LANES}
+   * @param keys scratch space for the key sums
+   * @param twos scratch space for the amount of twos
+   * @param flushes scratch space for the flush ranks
+   */
+  private static void evaluateBlock(EvaluatorTables tables, long[] cards, int from,
+                                    int[] strengths, int offset, int lanes, int[] keys,
+                                    int[] twos, int[] flushes) {
+    for (int lane = 0; lane < lanes; lane++) {
+      long mask = cards[from + lane];
+      if (Long.bitCount(mask) > HandEvaluator.MAX_CARDS) {
+        throw new IllegalArgumentException("Too many cards to evaluate");
+      }
+
+      int clubs = (int) mask & SUIT_MASK;
+      int diamonds = (int) (mask >>> SUIT_SIZE) & SUIT_MASK;
+      int hearts = (int) (mask >>> (2 * SUIT_SIZE)) & SUIT_MASK;
+      int spades = (int) (mask >>> (3 * SUIT_SIZE)) & SUIT_MASK;
+
+      keys[lane] = tables.maskKey(clubs) + tables.maskKey(diamonds) + tables.maskKey(hearts)
+              + tables.maskKey(spades);
+      twos[lane] = (clubs & 1) + (diamonds & 1) + (hearts & 1) + (spades & 1);
+      flushes[lane] = (Integer.bitCount(clubs) >= 5 ? clubs : 0)
+              | (Integer.bitCount(diamonds) >= 5 ? diamonds : 0)
+              | (Integer.bitCount(hearts) >= 5 ? hearts : 0)
+              | (Integer.bitCount(spades) >= 5 ? spades : 0);
+    }
+
+    for (int lane = 0; lane < lanes; lane++) {
+      strengths[offset + lane] = flushes[lane] != 0 ? tables.flush(flushes[lane])
+              : tables.unsuited(keys[lane], twos[lane]);
+    }
+  }
+}
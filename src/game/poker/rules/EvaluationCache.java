@@ -0,0 +1,193 @@
+package game.poker.rules;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongToIntFunction;
+
+/**
+ * A bounded, thread-safe cache of evaluation results keyed by card mask.
+ *
+ * <p>Entries are kept in primitive arrays split across independently locked stripes. Within a
+ * stripe every mask maps to a small bucket of slots; when a bucket is full the slot to replace
+ * is chosen by the clock algorithm, giving recently used entries a second chance.</p>
+ */
+public class EvaluationCache {
+  public static final int DEFAULT_CAPACITY = 1 << 16;
+
+  private static final int STRIPES = 16;
+  private static final int WAYS = 4;
+  private static final long PRESENT = 1L << 63;
+  private static final long MIX = 0x9E3779B97F4A7C15L;
+
+  private final Stripe[] stripes;
+  private final int bucketMask;
+
+  private final LongAdder hits;
+  private final LongAdder misses;
+  private final LongAdder evictions;
+
+  /**
+   * Constructs an EvaluationCache with the default capacity.
+   */
+  public EvaluationCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs an EvaluationCache holding at least the given amount of entries, rounded up to a
+   * power of two.
+   * @param capacity the minimum amount of entries
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public EvaluationCache(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+
+    int perStripe = Math.max(WAYS, (capacity + STRIPES - 1) / STRIPES);
+    int buckets = Integer.highestOneBit((perStripe + WAYS - 1) / WAYS - 1) << 1;
+
+    this.bucketMask = Math.max(1, buckets) - 1;
+    this.stripes = new Stripe[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe((bucketMask + 1) * WAYS);
+    }
+
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+    this.evictions = new LongAdder();
+  }
+
+  /**
+   * Retrieves the cached result for a card mask, evaluating and storing it on a miss. The
+   * evaluation runs without holding any lock, so it may occasionally run twice for one mask.
+   * @param cards the card mask
+   * @param evaluator computes the result for a card mask
+   * @return the result for the card mask
+   */
+  public int get(long cards, LongToIntFunction evaluator) {
+    long hash = (cards ^ (cards >>> 29)) * MIX;
+    Stripe stripe = stripes[(int) (hash >>> 60)];
+    int bucket = ((int) (hash >>> 32) & bucketMask) * WAYS;
+    long tag = cards | PRESENT;
+
+    synchronized (stripe) {
+      for (int i = bucket; i < bucket + WAYS; i++) {
+        if (stripe.keys[i] == tag) {
+          stripe.referenced[i] = true;
+          hits.increment();
+          return stripe.values[i];
+        }
+      }
+    }
+
+    misses.increment();
+    int value = evaluator.applyAsInt(cards);
+
+    synchronized (stripe) {
+      stripe.put(bucket, tag, value);
+    }
+
+    return value;
+  }
+
+  /**
+   * Removes every entry, leaving the counters untouched.
+   */
+  public void clear() {
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        stripe.clear();
+      }
+    }
+  }
+
+  /**
+   * Retrieves the amount of entries the cache can hold.
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return STRIPES * (bucketMask + 1) * WAYS;
+  }
+
+  /**
+   * Retrieves the amount of lookups answered from the cache.
+   * @return the hit count
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Retrieves the amount of lookups that required an evaluation.
+   * @return the miss count
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * Retrieves the amount of entries replaced to make room for new ones.
+   * @return the eviction count
+   */
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * A locked portion of the cache.
+   */
+  private class Stripe {
+    private final long[] keys;
+    private final int[] values;
+    private final boolean[] referenced;
+    private final byte[] hands;
+
+    private Stripe(int size) {
+      this.keys = new long[size];
+      this.values = new int[size];
+      this.referenced = new boolean[size];
+      this.hands = new byte[size / WAYS];
+    }
+
+    /**
+     * Stores an entry in a bucket, replacing the first slot without a second chance if the
+     * bucket is full.
+     * @param bucket the first slot of the bucket
+     * @param tag the marked card mask
+     * @param value the result
+     */
+    private void put(int bucket, long tag, int value) {
+      for (int i = bucket; i < bucket + WAYS; i++) {
+        if (keys[i] == tag || keys[i] == 0) {
+          store(i, tag, value);
+          return;
+        }
+      }
+
+      int clock = bucket / WAYS;
+      int slot = bucket + hands[clock];
+      while (referenced[slot]) {
+        referenced[slot] = false;
+        hands[clock] = (byte) ((hands[clock] + 1) % WAYS);
+        slot = bucket + hands[clock];
+      }
+
+      hands[clock] = (byte) ((hands[clock] + 1) % WAYS);
+      evictions.increment();
+      store(slot, tag, value);
+    }
+
+    private void store(int slot, long tag, int value) {
+      keys[slot] = tag;
+      values[slot] = value;
+      referenced[slot] = true;
+    }
+
+    private void clear() {
+      Arrays.fill(keys, 0);
+      Arrays.fill(referenced, false);
+      Arrays.fill(hands, (byte) 0);
+    }
+  }
+}
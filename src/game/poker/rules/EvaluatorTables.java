@@ -0,0 +1,339 @@
+package game.poker.rules;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * The lookup tables used by the {@link HandEvaluator}.
+ *
+ * <p>Tables are either generated in memory or loaded from a table file. A table file starts
+ * with a header holding a magic number, the format version, the byte order of the tables, the
+ * length of each table and a CRC32 checksum of everything after the header, followed by the
+ * tables themselves. The tables are always held off the heap in the native byte order: generated
+ * tables in a direct buffer, and loaded tables in the memory mapped file itself, so processes
+ * reading the same file share its pages. A file written on a machine of the other byte order is
+ * rejected rather than swapped on every lookup.</p>
+ */
+public final class EvaluatorTables {
+  public static final int MAGIC = 0x504B4554;
+  public static final int VERSION = 2;
+
+  private static final int HEADER_SIZE = 8 * Integer.BYTES + Long.BYTES;
+  private static final int SUIT_SIZE = 13;
+  private static final int SUIT_MASK = 0x1FFF;
+  private static final int MASK_LENGTH = SUIT_MASK + 1;
+  private static final int MULTISET_LENGTH = HandEvaluator.MAX_KEY + 1;
+  private static final int BIG_ENDIAN = 0;
+  private static final int LITTLE_ENDIAN = 1;
+
+  private final ByteBuffer payload;
+  private final IntBuffer maskKeys;
+  private final IntBuffer flushes;
+  private final IntBuffer unsuited;
+  private final CharBuffer multisets;
+
+  /**
+   * Constructs EvaluatorTables viewing the tables held in a buffer.
+   * @param payload the tables one after another, in the native byte order
+   * @param unsuitedLength the length of the table of strengths without a flush
+   */
+  private EvaluatorTables(ByteBuffer payload, int unsuitedLength) {
+    ByteBuffer rest = payload.duplicate();
+    this.payload = payload;
+    this.maskKeys = slice(rest, MASK_LENGTH * Integer.BYTES).asIntBuffer();
+    this.flushes = slice(rest, MASK_LENGTH * Integer.BYTES).asIntBuffer();
+    this.unsuited = slice(rest, unsuitedLength * Integer.BYTES).asIntBuffer();
+    this.multisets = slice(rest, MULTISET_LENGTH * Character.BYTES).asCharBuffer();
+  }
+
+  /**
+   * Generates the tables into a direct buffer.
+   * @return the generated tables
+   */
+  public static EvaluatorTables generate() {
+    int count = fillMultisets(new int[SUIT_SIZE], SUIT_SIZE - 1, 0, 0, 0, null, null);
+    int unsuitedLength = count * 5;
+    ByteBuffer payload = ByteBuffer.allocateDirect(payloadSize(unsuitedLength))
+            .order(ByteOrder.nativeOrder());
+    EvaluatorTables tables = new EvaluatorTables(payload, unsuitedLength);
+
+    for (int mask = 0; mask <= SUIT_MASK; mask++) {
+      int key = 0;
+      for (int rank = 0; rank < SUIT_SIZE; rank++) {
+        if ((mask & (1 << rank)) != 0) {
+          key += HandEvaluator.RANK_KEYS[rank];
+        }
+      }
+      tables.maskKeys.put(mask, key);
+
+      if (Integer.bitCount(mask) >= 5) {
+        tables.flushes.put(mask, HandEvaluator.flushStrength(mask));
+      }
+    }
+
+    fillMultisets(new int[SUIT_SIZE], SUIT_SIZE - 1, 0, 0, 0, tables.multisets, tables.unsuited);
+
+    return tables;
+  }
+
+  /**
+   * Loads tables by mapping a table file into memory. Lookups read the mapped file directly.
+   * @param file the table file
+   * @return the loaded tables
+   * @throws IOException if the file cannot be read, is not a valid table file or was written in
+   *                     the other byte order
+   */
+  public static EvaluatorTables load(Path file) throws IOException {
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Not a table file: " + file);
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    if (buffer.getInt() != MAGIC) {
+      throw new IOException("Not a table file: " + file);
+    }
+    if (buffer.getInt() != VERSION) {
+      throw new IOException("Unsupported table file version: " + file);
+    }
+    if (buffer.getInt() != orderCode(ByteOrder.nativeOrder())) {
+      throw new IOException("Table file written in another byte order: " + file);
+    }
+
+    int maskLength = buffer.getInt();
+    int flushLength = buffer.getInt();
+    int unsuitedLength = buffer.getInt();
+    int multisetLength = buffer.getInt();
+    buffer.getInt();
+    long checksum = buffer.getLong();
+
+    if (maskLength != MASK_LENGTH || flushLength != MASK_LENGTH
+            || multisetLength != MULTISET_LENGTH || unsuitedLength < 0
+            || payloadSize(unsuitedLength) != buffer.remaining()) {
+      throw new IOException("Table file has unexpected table sizes: " + file);
+    }
+
+    CRC32 crc = new CRC32();
+    crc.update(buffer.duplicate());
+    if (crc.getValue() != checksum) {
+      throw new IOException("Table file checksum mismatch: " + file);
+    }
+
+    return new EvaluatorTables(slice(buffer, buffer.remaining()), unsuitedLength);
+  }
+
+  /**
+   * Writes the tables to a table file in the native byte order. The file is written next to its
+   * destination first and then moved into place, so readers never see a partial file.
+   * @param file the table file
+   * @throws IOException if the file cannot be written
+   */
+  public void write(Path file) throws IOException {
+    ByteBuffer data = payload.duplicate();
+    CRC32 crc = new CRC32();
+    crc.update(data.duplicate());
+
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(MAGIC).putInt(VERSION).putInt(orderCode(ByteOrder.nativeOrder()));
+    header.putInt(maskKeys.limit()).putInt(flushes.limit());
+    header.putInt(unsuited.limit()).putInt(multisets.limit()).putInt(0);
+    header.putLong(crc.getValue());
+    header.flip();
+
+    Path absolute = file.toAbsolutePath();
+    Path temporary = Files.createTempFile(absolute.getParent(), "tables", ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+        while (header.hasRemaining() || data.hasRemaining()) {
+          channel.write(new ByteBuffer[]{header, data});
+        }
+      }
+      Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING);
+    }
+    finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  /**
+   * Loads the tables from a table file if it holds valid tables, otherwise generates them and
+   * tries to store them in the file for the next start. A table file that can't be loaded or
+   * stored is reported on the standard error stream.
+   * @param file the table file
+   * @return the tables
+   */
+  public static EvaluatorTables loadOrGenerate(Path file) {
+    if (Files.exists(file)) {
+      try {
+        return load(file);
+      }
+      catch (IOException e) {
+        System.err.println("Regenerating evaluator tables: " + e.getMessage());
+      }
+    }
+
+    EvaluatorTables tables = generate();
+    try {
+      tables.write(file);
+    }
+    catch (IOException e) {
+      System.err.println("Could not store evaluator tables: " + e.getMessage());
+    }
+
+    return tables;
+  }
+
+  /**
+   * Retrieves the tables one after another, for reading them in bulk.
+   * @return a read only view of the tables in the native byte order
+   */
+  ByteBuffer payload() {
+    return payload.asReadOnlyBuffer().order(ByteOrder.nativeOrder());
+  }
+
+  /**
+   * Determines the size of the tables in bytes.
+   * @param unsuitedLength the length of the table of strengths without a flush
+   * @return the size in bytes
+   */
+  private static int payloadSize(int unsuitedLength) {
+    return Integer.BYTES * (2 * MASK_LENGTH + unsuitedLength)
+            + Character.BYTES * MULTISET_LENGTH;
+  }
+
+  /**
+   * Finds the code of a byte order stored in the header of a table file.
+   * @param order the byte order
+   * @return the code of the byte order
+   */
+  private static int orderCode(ByteOrder order) {
+    return order == ByteOrder.BIG_ENDIAN ? BIG_ENDIAN : LITTLE_ENDIAN;
+  }
+
+  /**
+   * Takes a portion from the front of a buffer.
+   * @param buffer the buffer, advanced past the portion
+   * @param length the length of the portion in bytes
+   * @return the portion, in the native byte order
+   */
+  private static ByteBuffer slice(ByteBuffer buffer, int length) {
+    ByteBuffer portion = buffer.slice().order(ByteOrder.nativeOrder());
+    portion.limit(length);
+    buffer.position(buffer.position() + length);
+
+    return portion;
+  }
+
+  /**
+   * Enumerates every multiset of at most seven non-two ranks, recording its key and the
+   * strength of each combination with extra twos.
+   * @param counts the current count of each rank
+   * @param rank the rank being filled
+   * @param size the amount of cards chosen so far
+   * @param key the key sum chosen so far
+   * @param next the next free identifier
+   * @param multisets the identifier table to fill, or null to only count the multisets
+   * @param strengths the strength table to fill, or null to only count the multisets
+   * @return the next free identifier after this branch
+   */
+  private static int fillMultisets(int[] counts, int rank, int size, int key, int next,
+                                   CharBuffer multisets, IntBuffer strengths) {
+    if (rank == 0) {
+      if (multisets != null) {
+        multisets.put(key, (char) next);
+      }
+      for (int twos = 0; strengths != null && twos <= 4 && size + twos <= HandEvaluator.MAX_CARDS;
+           twos++) {
+        counts[0] = twos;
+        strengths.put(next * 5 + twos, HandEvaluator.unsuitedStrength(counts));
+      }
+      counts[0] = 0;
+
+      return next + 1;
+    }
+
+    for (int amount = 0; amount <= 4 && size + amount <= HandEvaluator.MAX_CARDS; amount++) {
+      counts[rank] = amount;
+      next = fillMultisets(counts, rank - 1, size + amount,
+              key + amount * HandEvaluator.RANK_KEYS[rank], next, multisets, strengths);
+    }
+    counts[rank] = 0;
+
+    return next;
+  }
+
+  /**
+   * Evaluates a set of at most seven cards with these tables.
+   * @param cards the card mask
+   * @return the strength of the best hand within the cards
+   * @throws IllegalArgumentException if more than seven cards are given
+   */
+  public int evaluate(long cards) {
+    if (Long.bitCount(cards) > HandEvaluator.MAX_CARDS) {
+      throw new IllegalArgumentException("Too many cards to evaluate");
+    }
+
+    int clubs = (int) cards & SUIT_MASK;
+    int diamonds = (int) (cards >>> SUIT_SIZE) & SUIT_MASK;
+    int hearts = (int) (cards >>> (2 * SUIT_SIZE)) & SUIT_MASK;
+    int spades = (int) (cards >>> (3 * SUIT_SIZE)) & SUIT_MASK;
+
+    if (Integer.bitCount(clubs) >= 5) {
+      return flushes.get(clubs);
+    }
+    if (Integer.bitCount(diamonds) >= 5) {
+      return flushes.get(diamonds);
+    }
+    if (Integer.bitCount(hearts) >= 5) {
+      return flushes.get(hearts);
+    }
+    if (Integer.bitCount(spades) >= 5) {
+      return flushes.get(spades);
+    }
+
+    int key = maskKeys.get(clubs) + maskKeys.get(diamonds) + maskKeys.get(hearts)
+            + maskKeys.get(spades);
+    int twos = (clubs & 1) + (diamonds & 1) + (hearts & 1) + (spades & 1);
+
+    return unsuited.get(multisets.get(key) * 5 + twos);
+  }
+
+  /**
+   * Looks up the key sum of a rank mask.
+   * @param mask the rank mask
+   * @return the key sum
+   */
+  int maskKey(int mask) {
+    return maskKeys.get(mask);
+  }
+
+  /**
+   * Looks up the strength of five or more cards of one suit.
+   * @param mask the rank mask of the suited cards
+   * @return the strength
+   */
+  int flush(int mask) {
+    return flushes.get(mask);
+  }
+
+  /**
+   * Looks up the strength of a set of cards holding no flush.
+   * @param key the key sum of the cards
+   * @param twos the amount of twos among the cards
+   * @return the strength
+   */
+  int unsuited(int key, int twos) {
+    return unsuited.get(multisets.get(key) * 5 + twos);
+  }
+}
@@ -0,0 +1,342 @@
+package game.poker.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import game.deck.Card;
+import game.deck.Hand;
+
+/**
+ * Verifies the {@link HandEvaluator} against the reference {@link FindRank} by enumerating every
+ * seven card hand of a deck in parallel.
+ *
+ * <p>Each hand has its best five cards extracted by {@link BestFive} and checked to be cards of the
+ * hand that evaluate to the same strength. Hands compared against the reference also have the
+ * rank of their best five cards found by the reference, which must match the rank it finds for
+ * the whole hand, so a table error shared by the evaluator and the extraction is still caught.</p>
+ *
+ * <p>Hands are numbered by their position in the combinatorial number system, so a range of
+ * hands can be split in half and each half started directly at its first hand. Within a range
+ * the next hand is derived from the previous card mask without allocating.</p>
+ */
+public class EvaluatorVerifier {
+  public static final long FULL_DECK = (1L << 52) - 1;
+
+  /**
+   * Known amount of seven card hands of each hand rank in a full deck, indexed by hand rank value.
+   */
+  private static final long[] KNOWN_TOTALS = {0, 23294460, 58627800, 31433400, 6461620, 6180020,
+          4047644, 3473184, 224848, 37260, 4324};
+
+  private static final int HAND_SIZE = HandEvaluator.MAX_CARDS;
+  private static final long SPLIT_THRESHOLD = 1 << 16;
+  private static final long[][] BINOMIALS = new long[53][HAND_SIZE + 1];
+
+  static {
+    for (int n = 0; n < BINOMIALS.length; n++) {
+      BINOMIALS[n][0] = 1;
+      for (int k = 1; k <= HAND_SIZE && k <= n; k++) {
+        BINOMIALS[n][k] = BINOMIALS[n - 1][k - 1] + BINOMIALS[n - 1][k];
+      }
+    }
+  }
+
+  private final long deck;
+  private final int[] positions;
+  private final int referenceStride;
+
+  /**
+   * Constructs an EvaluatorVerifier.
+   * @param deck the card mask of the deck to enumerate
+   * @param referenceStride compare every hand numbered a multiple of this against the reference,
+   *                        or 0 to skip the reference
+   * @throws IllegalArgumentException if the deck has fewer than seven cards
+   */
+  public EvaluatorVerifier(long deck, int referenceStride) {
+    if (Long.bitCount(deck) < HAND_SIZE) {
+      throw new IllegalArgumentException("Deck too small to verify");
+    }
+
+    this.deck = deck;
+    this.referenceStride = referenceStride;
+    this.positions = new int[Long.bitCount(deck)];
+    int count = 0;
+    for (long rest = deck; rest != 0; rest &= rest - 1) {
+      positions[count++] = Long.numberOfTrailingZeros(rest);
+    }
+  }
+
+  /**
+   * Enumerates every hand of the deck on a pool.
+   * @param pool the pool to run on
+   * @return the tally of the run
+   */
+  public Tally run(ForkJoinPool pool) {
+    long start = System.nanoTime();
+    Tally tally = pool.invoke(new Range(0, BINOMIALS[positions.length][HAND_SIZE]));
+    tally.nanos = System.nanoTime() - start;
+    tally.threads = pool.getParallelism();
+
+    return tally;
+  }
+
+  /**
+   * Verifies a single hand.
+   * @param number the position of the hand in the enumeration
+   * @param cards the card mask of the hand
+   * @param tally the tally to record in
+   * @param buffer the buffer to extract the best five cards into
+   */
+  private void verify(long number, long cards, Tally tally, int[] buffer) {
+    int strength = HandEvaluator.evaluate(cards);
+    int category = HandEvaluator.category(strength);
+    tally.counts[category]++;
+
+    int size = BestFive.extract(cards, buffer);
+    long best = 0;
+    for (int i = 0; i < size; i++) {
+      best |= 1L << buffer[i];
+    }
+    if (size != BestFive.SIZE || (best & ~cards) != 0 || HandEvaluator.evaluate(best) != strength) {
+      tally.mismatch(cards, "best five");
+    }
+
+    if (referenceStride > 0 && number % referenceStride == 0) {
+      HandRank reference = new FindRank(handOf(cards)).getRank();
+      if (reference.getValue() != category) {
+        tally.mismatch(cards, "category");
+      }
+      if (new FindRank(handOf(best)).getRank() != reference) {
+        tally.mismatch(cards, "best five category");
+      }
+      tally.referenced++;
+    }
+  }
+
+  /**
+   * Creates a hand holding the cards of a card mask.
+   * @param cards the card mask
+   * @return the hand
+   */
+  private static Hand handOf(long cards) {
+    List<Card> hand = new ArrayList<>(HAND_SIZE);
+    for (long rest = cards; rest != 0; rest &= rest - 1) {
+      hand.add(Card.of(Long.numberOfTrailingZeros(rest)));
+    }
+
+    return new Hand(hand);
+  }
+
+  /**
+   * Maps a combination of deck positions onto the card mask it stands for.
+   * @param combination the combination as bits of deck positions
+   * @return the card mask
+   */
+  private long cardsOf(long combination) {
+    if (deck == FULL_DECK) {
+      return combination;
+    }
+
+    long cards = 0;
+    for (long rest = combination; rest != 0; rest &= rest - 1) {
+      cards |= 1L << positions[Long.numberOfTrailingZeros(rest)];
+    }
+
+    return cards;
+  }
+
+  /**
+   * Finds the combination at a position of the enumeration.
+   * @param number the position
+   * @return the combination as bits of deck positions
+   */
+  private static long unrank(long number) {
+    long combination = 0;
+    long rest = number;
+    int position = BINOMIALS.length - 1;
+
+    for (int k = HAND_SIZE; k > 0; k--) {
+      while (BINOMIALS[position][k] > rest) {
+        position--;
+      }
+      combination |= 1L << position;
+      rest -= BINOMIALS[position][k];
+    }
+
+    return combination;
+  }
+
+  /**
+   * Finds the next combination with the same amount of bits.
+   * @param combination the current combination
+   * @return the next larger combination
+   */
+  private static long next(long combination) {
+    long lowest = combination & -combination;
+    long ripple = combination + lowest;
+
+    return ripple | ((ripple ^ combination) >>> (2 + Long.numberOfTrailingZeros(lowest)));
+  }
+
+  /**
+   * Verifies a range of the enumeration, splitting it while it is large.
+   */
+  private class Range extends RecursiveTask<Tally> {
+    private static final long serialVersionUID = 1L;
+
+    private final long from;
+    private final long to;
+
+    private Range(long from, long to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Tally compute() {
+      if (to - from > SPLIT_THRESHOLD) {
+        long middle = (from + to) >>> 1;
+        Range upper = new Range(middle, to);
+        upper.fork();
+
+        Tally tally = new Range(from, middle).compute();
+        tally.merge(upper.join());
+
+        return tally;
+      }
+
+      Tally tally = new Tally();
+      int[] buffer = new int[BestFive.SIZE];
+      long combination = unrank(from);
+      for (long number = from; number < to; number++) {
+        verify(number, cardsOf(combination), tally, buffer);
+        combination = next(combination);
+      }
+      tally.hands = to - from;
+
+      return tally;
+    }
+  }
+
+  /**
+   * The results of a verification run.
+   */
+  public static class Tally {
+    private final long[] counts = new long[KNOWN_TOTALS.length];
+    private long hands;
+    private long referenced;
+    private long mismatches;
+    private long firstMismatch = -1;
+    private String firstReason;
+    private long nanos;
+    private int threads;
+
+    private void mismatch(long cards, String reason) {
+      if (mismatches++ == 0) {
+        firstMismatch = cards;
+        firstReason = reason;
+      }
+    }
+
+    private void merge(Tally other) {
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] += other.counts[i];
+      }
+      hands += other.hands;
+      referenced += other.referenced;
+      if (mismatches == 0 && other.mismatches > 0) {
+        firstMismatch = other.firstMismatch;
+        firstReason = other.firstReason;
+      }
+      mismatches += other.mismatches;
+    }
+
+    /**
+     * Retrieves the amount of hands of a hand rank.
+     * @param rank the hand rank
+     * @return the amount of hands
+     */
+    public long getCount(HandRank rank) {
+      return counts[rank.getValue()];
+    }
+
+    /**
+     * Retrieves the amount of hands enumerated.
+     * @return the amount of hands
+     */
+    public long getHands() {
+      return hands;
+    }
+
+    /**
+     * Retrieves the amount of hands compared against the reference.
+     * @return the amount of hands
+     */
+    public long getReferenced() {
+      return referenced;
+    }
+
+    /**
+     * Retrieves the amount of hands that did not verify.
+     * @return the amount of hands
+     */
+    public long getMismatches() {
+      return mismatches;
+    }
+
+    /**
+     * Checks the amount of hands of each hand rank against the known full deck totals.
+     * @return whether every amount matches
+     */
+    public boolean matchesKnownTotals() {
+      for (int i = 1; i < counts.length; i++) {
+        if (counts[i] != KNOWN_TOTALS[i]) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    /**
+     * Determines the speed of the run.
+     * @return the hands verified per second by each thread
+     */
+    public double handsPerSecondPerThread() {
+      return hands / (nanos / 1e9) / threads;
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder builder = new StringBuilder();
+      for (HandRank rank : HandRank.values()) {
+        builder.append(String.format("%-15s %10d %10d%n", rank, counts[rank.getValue()],
+                KNOWN_TOTALS[rank.getValue()]));
+      }
+      builder.append(String.format("%d hands, %d against reference, %d mismatches%n", hands,
+              referenced, mismatches));
+      if (mismatches > 0) {
+        builder.append(String.format("first mismatch: %s on %x%n", firstReason, firstMismatch));
+      }
+      builder.append(String.format("%.1f s on %d threads, %.0f hands/s per thread", nanos / 1e9,
+              threads, handsPerSecondPerThread()));
+
+      return builder.toString();
+    }
+  }
+
+  /**
+   * Runs the verification over the full deck.
+   * @param args optionally the reference stride, every hand by default
+   */
+  public static void main(String[] args) {
+    int stride = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+    Tally tally = new EvaluatorVerifier(FULL_DECK, stride).run(ForkJoinPool.commonPool());
+
+    System.out.println(tally);
+    boolean passed = tally.matchesKnownTotals() && tally.getMismatches() == 0;
+    System.out.println(passed ? "PASSED" : "FAILED");
+  }
+}
@@ -1,68 +1,173 @@
 package game.poker.rules;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import game.deck.Card;
 import game.deck.Hand;
-import game.deck.Suit;
-import game.util.CyclicSet;
 
 /**
  * Facilitates hand rank determination.
+ *
+ * <p>Instances are immutable once constructed. The shared instance holds no hand and only
+ * serves {@link #getRank(Hand, List)}, which keeps all of its working data local to the call,
+ * so it may be used from any number of threads at once. It evaluates every card set directly,
+ * as the lookup tables are faster than any cache; callers whose card sets repeat while the
+ * evaluation is slower can construct their own instance with an {@link EvaluationCache}.</p>
  */
 public class FindRank {
-  private HandOperations logic;
-  private Hand hand;
-  private RankLogic rank;
+  private static final int WHEEL = 0x403C;
+  private static final int SUIT_SIZE = 13;
+  private static final int SUIT_MASK = 0x1FFF;
+  private static final FindRank INSTANCE = new FindRank();
+
+  private final Hand hand;
+  private final RankLogic rank;
+  private final EvaluationCache cache;
+
+  private final int pairs;
+  private final int trips;
+  private final int quads;
+  private final int flushSuit;
+  private final int straightHigh;
+  private final int straightFlushHigh;
+
+  private FindRank() {
+    this((EvaluationCache) null);
+  }
 
-  public FindRank() {
+  /**
+   * Constructs a FindRank object without a hand, only serving {@link #getRank(Hand, List)}.
+   * @param cache the cache placed in front of the evaluation, or null to evaluate directly
+   */
+  public FindRank(EvaluationCache cache) {
     this.hand = null;
-    this.logic = null;
     this.rank = null;
+    this.cache = cache;
+    this.pairs = 0;
+    this.trips = 0;
+    this.quads = 0;
+    this.flushSuit = -1;
+    this.straightHigh = 0;
+    this.straightFlushHigh = 0;
   }
+
   /**
-   * Constructs a FindRank object.
+   * Constructs a FindRank object, reading the ranks of each suit from the card mask of the hand
+   * to find its pairs, trips and quads along with the highest straight and straight flush.
    * @param hand the poker hand
    */
   public FindRank(Hand hand) {
-    setHand(hand);
-  }
+    if (hand.size() < 1) {
+      throw new IllegalArgumentException("Empty hand given");
+    }
+
+    int[] suitRanks = new int[4];
+    for (int suit = 0; suit < 4; suit++) {
+      suitRanks[suit] = ((int) (hand.getMask() >>> (suit * SUIT_SIZE)) & SUIT_MASK) << 2;
+    }
+
+    int clubs = suitRanks[0];
+    int diamonds = suitRanks[1];
+    int hearts = suitRanks[2];
+    int spades = suitRanks[3];
+    int ranks = clubs | diamonds | hearts | spades;
+
+    int pairCount = Integer.bitCount((clubs & diamonds) | (clubs & hearts) | (clubs & spades)
+            | (diamonds & hearts) | (diamonds & spades) | (hearts & spades));
+    int tripCount = Integer.bitCount((clubs & diamonds & hearts) | (clubs & diamonds & spades)
+            | (clubs & hearts & spades) | (diamonds & hearts & spades));
+    int quadCount = Integer.bitCount(clubs & diamonds & hearts & spades);
+
+    int suited = -1;
+    int suitedHigh = 0;
+    for (int suit = 0; suit < 4; suit++) {
+      if (Integer.bitCount(suitRanks[suit]) >= 5) {
+        int high = straightHigh(suitRanks[suit]);
+        if (suited < 0 || high > suitedHigh) {
+          suited = suit;
+          suitedHigh = Math.max(suitedHigh, high);
+        }
+      }
+    }
 
-  public void setHand(Hand hand) {
     this.hand = hand;
-    this.logic = new HandOperations(hand);
+    this.cache = null;
+    this.pairs = pairCount;
+    this.trips = tripCount;
+    this.quads = quadCount;
+    this.flushSuit = suited;
+    this.straightHigh = straightHigh(ranks);
+    this.straightFlushHigh = suitedHigh;
     this.rank = logicResult();
   }
 
+  /**
+   * Retrieves the shared FindRank instance, which is safe to use concurrently.
+   * @return the shared instance
+   */
+  public static FindRank getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Retrieves the cache placed in front of the evaluation.
+   * @return the cache, or null if there is none
+   */
+  public EvaluationCache getCache() {
+    return cache;
+  }
+
+  /**
+   * Determines the highest rank of a hand combined with the community cards.
+   * Sets of up to seven cards are looked up directly through the {@link HandEvaluator}.
+   * Neither the hand nor this object is modified.
+   * @param base the hand
+   * @param board the community cards
+   * @return the highest rank of the combined cards
+   */
   public HandRank getRank(Hand base, List<Card> board) {
-    List<Card> allCards = Stream.concat(base.getCards().stream(), board.stream()).collect(Collectors.toList());
-    Hand current = new Hand(allCards);
+    long cards = base.getMask() | Card.maskOf(board);
+    if (Long.bitCount(cards) <= HandEvaluator.MAX_CARDS) {
+      int strength = cache == null ? HandEvaluator.evaluate(cards)
+              : cache.get(cards, HandEvaluator::evaluate);
+      return HandRank.fromStrength(strength);
+    }
 
-    this.hand = current;
-    this.logic = new HandOperations(current);
+    List<Card> allCards = Stream.concat(base.getCards().stream(), board.stream()).collect(Collectors.toList());
 
-    RankLogic rank = logicResult();
+    return new FindRank(new Hand(allCards)).getRank();
+  }
 
-    this.hand = null;
-    this.logic = null;
+  /**
+   * Finds the highest card ending a run of five ranks.
+   * @param ranks the ranks present, as bits of their values
+   * @return the value ending the highest straight, or 0 if there is none
+   */
+  private static int straightHigh(int ranks) {
+    int run = ranks & (ranks << 1) & (ranks << 2) & (ranks << 3) & (ranks << 4);
+    if (run != 0) {
+      return 31 - Integer.numberOfLeadingZeros(run);
+    }
 
-    return rank.getRank();
+    return (ranks & WHEEL) == WHEEL ? 5 : 0;
   }
 
   /**
-   * Determines the highest rank of the hand.
+   * Determines the highest rank of the hand by testing ranks from strongest to weakest and
+   * stopping at the first that applies.
    * @return the highest rank of the hand
    */
   private RankLogic logicResult() {
-    return getSuite().stream()
-            .filter(RankLogic::validRank)
-            .max(Comparator.comparing(logic -> logic.getRank().getValue())).orElse(null);
+    for (HandRank option : HandRank.values()) {
+      RankLogic logic = createLogic(option);
+      if (logic.validRank()) {
+        return logic;
+      }
+    }
+
+    throw new IllegalStateException("No rank applies to the hand");
   }
 
   /**
@@ -70,6 +175,7 @@ public class FindRank {
    * @return the hand rank
    */
   public HandRank getRank() {
+    checkHand();
     return rank.getRank();
   }
 
@@ -78,46 +184,70 @@ public class FindRank {
    * @return the optimal card hand given the initial cards
    */
   public Hand getRankedHand() {
+    checkHand();
     return rank.findRankedHand();
   }
 
   /**
-   * Collects all rank finding processes for easy processing.
-   * @return
+   * Ensures this object was constructed for a hand.
+   * @throws IllegalStateException if this is the shared instance
    */
-  private List<RankLogic> getSuite() {
-   List<RankLogic> suite = new ArrayList<>();
-   suite.add(new RoyalFlush());
-   suite.add(new StraightFlush());
-   suite.add(new FourKind());
-   suite.add(new FullHouse());
-   suite.add(new Flush());
-   suite.add(new Straight());
-   suite.add(new ThreeKind());
-   suite.add(new TwoPair());
-   suite.add(new Pair());
-   suite.add(new HighCard());
-
-   return suite;
+  private void checkHand() {
+    if (hand == null) {
+      throw new IllegalStateException("No hand given");
+    }
+  }
+
+  /**
+   * Extracts the best five cards of the hand.
+   * @return the optimal card hand given the initial cards
+   */
+  private Hand rankedHand() {
+    return BestFive.extract(hand.getCards());
+  }
+
+  /**
+   * Creates the rank finding process for a hand rank.
+   * @param option the hand rank to find
+   * @return the process that finds the hand rank
+   */
+  private RankLogic createLogic(HandRank option) {
+    switch (option) {
+      case Royal_Flush:
+        return new RoyalFlush();
+      case Straight_Flush:
+        return new StraightFlush();
+      case Four_Kind:
+        return new FourKind();
+      case Full_House:
+        return new FullHouse();
+      case Flush:
+        return new Flush();
+      case Straight:
+        return new Straight();
+      case Three_Kind:
+        return new ThreeKind();
+      case Two_Pair:
+        return new TwoPair();
+      case Pair:
+        return new Pair();
+      default:
+        return new HighCard();
+    }
   }
 
   /**
    * Handles process for finding a Royal Flush.
    */
   private class RoyalFlush implements RankLogic {
-    CyclicSet sequence = logic.makeSequence();
-
     @Override
     public boolean validRank() {
-      return sequence.size() == 5
-              && sequence.last() == 14
-              && sequence.previousFrom(14) == 13
-              && logic.topSuitValueMatch(sequence);
+      return straightFlushHigh == 14;
     }
 
     @Override
     public Hand findRankedHand() {
-      return logic.extractSameSuit(sequence);
+      return rankedHand();
     }
 
     @Override
@@ -130,16 +260,14 @@ public class FindRank {
    * Handles process for finding a Straight Flush.
    */
   private class StraightFlush implements RankLogic {
-    CyclicSet sequence = logic.makeSequence();
-
     @Override
     public boolean validRank() {
-      return sequence.size() == 5 && logic.topSuitValueMatch(sequence);
+      return straightFlushHigh > 0;
     }
 
     @Override
     public Hand findRankedHand() {
-      return logic.extractSameSuit(sequence);
+      return rankedHand();
     }
 
     @Override
@@ -155,12 +283,12 @@ public class FindRank {
 
     @Override
     public boolean validRank() {
-      return hand.allValues().containsValue(4);
+      return quads > 0;
     }
 
     @Override
     public Hand findRankedHand() {
-      return logic.getHandByCount(1);
+      return rankedHand();
     }
 
     @Override
@@ -176,13 +304,12 @@ public class FindRank {
 
     @Override
     public boolean validRank() {
-      return hand.allValues().containsValue(3)
-              && hand.allValues().values().stream().filter(count -> count >= 2).count() > 1;
+      return trips > 0 && pairs > 1;
     }
 
     @Override
     public Hand findRankedHand() {
-      return logic.getHandByCount(2);
+      return rankedHand();
     }
 
     @Override
@@ -198,25 +325,12 @@ public class FindRank {
 
     @Override
     public boolean validRank() {
-      return hand.allSuits().values().stream().anyMatch(count -> count >= 5);
+      return flushSuit >= 0;
     }
 
     @Override
     public Hand findRankedHand() {
-      List<Suit> straightSuits = hand.allSuits().entrySet().stream()
-              .filter(entry -> entry.getValue() >= 5)
-              .map(Map.Entry::getKey)
-              .collect(Collectors.toList());
-
-      Suit bestSuit = hand.getCards().stream()
-              .filter(card -> straightSuits.contains(card.getSuit()))
-              .max(Comparator.comparingInt(Card::getRank))
-              .orElseThrow(() -> new IllegalArgumentException("Invalid hand"))
-              .getSuit();
-
-      return new Hand(hand.getCards().stream()
-              .filter(card -> card.getSuit() == bestSuit)
-              .collect(Collectors.toList()).subList(0, 5));
+      return rankedHand();
     }
 
     @Override
@@ -229,16 +343,14 @@ public class FindRank {
    * Handles process for finding a Straight.
    */
   private class Straight implements RankLogic {
-    CyclicSet sequence = logic.makeSequence();
-
     @Override
     public boolean validRank() {
-      return sequence.size() == 5;
+      return straightHigh > 0;
     }
 
     @Override
     public Hand findRankedHand() {
-      return logic.getSequenceHand(sequence);
+      return rankedHand();
     }
 
     @Override
@@ -254,12 +366,12 @@ public class FindRank {
 
     @Override
     public boolean validRank() {
-      return hand.allValues().containsValue(3);
+      return trips > 0;
     }
 
     @Override
     public Hand findRankedHand() {
-      return logic.getHandByCount(1);
+      return rankedHand();
     }
 
     @Override
@@ -275,12 +387,12 @@ public class FindRank {
 
     @Override
     public boolean validRank() {
-      return Collections.frequency(hand.allValues().values(), 2) >= 2;
+      return pairs > 1;
     }
 
     @Override
     public Hand findRankedHand() {
-      return logic.getHandByCount(2);
+      return rankedHand();
     }
 
     @Override
@@ -296,12 +408,12 @@ public class FindRank {
 
     @Override
     public boolean validRank() {
-      return hand.allValues().containsValue(2);
+      return pairs > 0;
     }
 
     @Override
     public Hand findRankedHand() {
-      return logic.getHandByCount(1);
+      return rankedHand();
     }
 
     @Override
@@ -322,7 +434,7 @@ public class FindRank {
 
     @Override
     public Hand findRankedHand() {
-      return logic.getHandByCount(5);
+      return rankedHand();
     }
 
     @Override
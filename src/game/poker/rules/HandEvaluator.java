@@ -0,0 +1,313 @@
+package game.poker.rules;
+
+import java.util.List;
+
+import game.deck.Card;
+import game.deck.Hand;
+
+/**
+ * Evaluates poker hands of up to seven cards through precomputed lookup tables.
+ *
+ * <p>A set of cards is given as a 52-bit mask where each card occupies bit
+ * {@code suit * 13 + (rank - 2)}, so every suit is a contiguous 13-bit block of ranks.
+ * The result is a strength value: the {@link HandRank} value in bits 20 to 23 followed by up
+ * to five deciding card ranks, four bits each, in order of importance. A higher strength
+ * always means a better hand and equal strengths are exact ties.</p>
+ */
+public final class HandEvaluator {
+  public static final int MAX_CARDS = 7;
+
+  private static final int SUIT_SIZE = 13;
+  private static final int SUIT_MASK = 0x1FFF;
+  private static final int CATEGORY_SHIFT = 20;
+
+  /**
+   * Unique-sum keys for the ranks three through ace; any multiset of up to seven of these ranks
+   * sums to a distinct value. Twos are keyed zero and counted separately.
+   */
+  static final int[] RANK_KEYS = {0, 1, 5, 24, 112, 521, 2247, 9244, 30823, 103066,
+          250154, 667453, 1526359};
+  static final int MAX_KEY = 4 * RANK_KEYS[12] + 3 * RANK_KEYS[11];
+
+  /**
+   * The lookup tables set before the first evaluation, if any.
+   */
+  private static EvaluatorTables configured;
+  private static boolean inUse;
+
+  private HandEvaluator() {
+  }
+
+  /**
+   * Sets the lookup tables to evaluate with, such as tables loaded from a table file. The tables
+   * are fixed by the first evaluation, so this must be called before anything is evaluated.
+   * @param loaded the lookup tables
+   * @throws IllegalStateException if tables are already in use
+   */
+  public static synchronized void useTables(EvaluatorTables loaded) {
+    if (inUse) {
+      throw new IllegalStateException("Evaluator tables are already in use");
+    }
+
+    configured = loaded;
+  }
+
+  /**
+   * Retrieves the lookup tables in use.
+   * @return the lookup tables
+   */
+  static EvaluatorTables tables() {
+    return Tables.CURRENT;
+  }
+
+  /**
+   * Fixes the lookup tables on first use, generating them if none have been set.
+   * @return the lookup tables
+   */
+  private static synchronized EvaluatorTables fixTables() {
+    inUse = true;
+    return configured != null ? configured : EvaluatorTables.generate();
+  }
+
+  /**
+   * Evaluates a set of at most seven cards.
+   * @param cards the card mask
+   * @return the strength of the best hand within the cards
+   * @throws IllegalArgumentException if more than seven cards are given
+   */
+  public static int evaluate(long cards) {
+    return Tables.CURRENT.evaluate(cards);
+  }
+
+  /**
+   * Evaluates a set of any amount of cards. Sets larger than seven cards are resolved by
+   * evaluating each of their seven card subsets.
+   * @param cards the card mask
+   * @return the strength of the best hand within the cards
+   */
+  public static int evaluateAll(long cards) {
+    return bestSubset(cards, Long.bitCount(cards) - MAX_CARDS, 0);
+  }
+
+  /**
+   * Finds the strongest subset left after removing cards, only removing cards above a position
+   * so that each subset is visited once.
+   * @param cards the card mask
+   * @param excess the amount of cards still to remove
+   * @param from the lowest position that may still be removed
+   * @return the strength of the best subset
+   */
+  private static int bestSubset(long cards, int excess, int from) {
+    if (excess <= 0) {
+      return evaluate(cards);
+    }
+
+    int best = 0;
+    for (long rest = cards & (-1L << from); rest != 0; rest &= rest - 1) {
+      int position = Long.numberOfTrailingZeros(rest);
+      best = Math.max(best, bestSubset(cards & ~(1L << position), excess - 1, position + 1));
+    }
+
+    return best;
+  }
+
+  /**
+   * Evaluates a hand combined with the community cards.
+   * @param base the hand
+   * @param board the community cards
+   * @return the strength of the best hand within the cards
+   */
+  public static int evaluate(Hand base, List<Card> board) {
+    return evaluate(base.getMask() | Card.maskOf(board));
+  }
+
+  /**
+   * Looks up the strength of five or more cards of one suit.
+   * @param ranks the rank mask of the suited cards
+   * @return the strength
+   */
+  static int flushStrengthOf(int ranks) {
+    return tables().flush(ranks);
+  }
+
+  /**
+   * Looks up the strength of a set of cards holding no flush.
+   * @param key the key sum of the cards
+   * @param twos the amount of twos among the cards
+   * @return the strength
+   */
+  static int unsuitedStrengthOf(int key, int twos) {
+    return tables().unsuited(key, twos);
+  }
+
+  /**
+   * Computes the key sum of a set of cards.
+   * @param cards the card mask
+   * @return the key sum
+   */
+  static int keySumOf(long cards) {
+    EvaluatorTables current = tables();
+    int key = 0;
+    for (int suit = 0; suit < 4; suit++) {
+      key += current.maskKey(suitRanks(cards, suit));
+    }
+
+    return key;
+  }
+
+  /**
+   * Extracts the ranks of one suit from a set of cards.
+   * @param cards the card mask
+   * @param suit the suit ordinal
+   * @return the rank mask of that suit
+   */
+  static int suitRanks(long cards, int suit) {
+    return (int) (cards >>> (suit * SUIT_SIZE)) & SUIT_MASK;
+  }
+
+  /**
+   * Retrieves the key a card adds to the key sum of a set of cards.
+   * @param index the bit index of the card
+   * @return the key of the card's rank
+   */
+  static int keyOf(int index) {
+    return RANK_KEYS[index % SUIT_SIZE];
+  }
+
+  /**
+   * Retrieves the hand rank a strength belongs to.
+   * @param strength the strength value
+   * @return the numeric value of the hand rank
+   */
+  public static int category(int strength) {
+    return strength >>> CATEGORY_SHIFT;
+  }
+
+  /**
+   * Determines the strength of a set of cards with no flush.
+   * @param counts the amount of cards of each rank
+   * @return the strength
+   */
+  static int unsuitedStrength(int[] counts) {
+    int present = 0;
+    int quad = -1;
+    int trips = -1;
+    int pair = -1;
+    int secondPair = -1;
+
+    for (int rank = SUIT_SIZE - 1; rank >= 0; rank--) {
+      int count = counts[rank];
+      if (count > 0) {
+        present |= 1 << rank;
+      }
+
+      if (count == 4 && quad < 0) {
+        quad = rank;
+      }
+      else if (count == 3 && trips < 0) {
+        trips = rank;
+      }
+      else if (count >= 2 && pair < 0) {
+        pair = rank;
+      }
+      else if (count >= 2 && secondPair < 0) {
+        secondPair = rank;
+      }
+    }
+
+    if (quad >= 0) {
+      return pack(HandRank.Four_Kind, present & ~(1 << quad), 1, quad);
+    }
+    if (trips >= 0 && pair >= 0) {
+      return pack(HandRank.Full_House, 0, 0, trips, pair);
+    }
+
+    int straight = straightHigh(present);
+    if (straight >= 0) {
+      return pack(HandRank.Straight, 0, 0, straight);
+    }
+    if (trips >= 0) {
+      return pack(HandRank.Three_Kind, present & ~(1 << trips), 2, trips);
+    }
+    if (pair >= 0 && secondPair >= 0) {
+      return pack(HandRank.Two_Pair, present & ~(1 << pair) & ~(1 << secondPair), 1, pair,
+              secondPair);
+    }
+    if (pair >= 0) {
+      return pack(HandRank.Pair, present & ~(1 << pair), 3, pair);
+    }
+
+    return pack(HandRank.High_Card, present, 5);
+  }
+
+  /**
+   * Determines the strength of five or more cards of the same suit.
+   * @param mask the ranks of the suited cards
+   * @return the strength
+   */
+  static int flushStrength(int mask) {
+    int straight = straightHigh(mask);
+    if (straight == SUIT_SIZE - 1) {
+      return pack(HandRank.Royal_Flush, 0, 0, straight);
+    }
+    if (straight >= 0) {
+      return pack(HandRank.Straight_Flush, 0, 0, straight);
+    }
+
+    return pack(HandRank.Flush, mask, 5);
+  }
+
+  /**
+   * Finds the highest rank ending a run of five ranks, counting the ace as low as well.
+   * @param ranks the rank mask
+   * @return the rank ending the highest straight, or -1 if there is none
+   */
+  private static int straightHigh(int ranks) {
+    int run = ranks & (ranks << 1) & (ranks << 2) & (ranks << 3) & (ranks << 4);
+    if (run != 0) {
+      return 31 - Integer.numberOfLeadingZeros(run);
+    }
+
+    int wheel = 0x100F;
+    if ((ranks & wheel) == wheel) {
+      return 3;
+    }
+
+    return -1;
+  }
+
+  /**
+   * Packs a hand rank and its deciding ranks into a strength.
+   * @param rank the hand rank
+   * @param kickers the remaining ranks to fill with, highest first
+   * @param kickerCount the most kickers to take
+   * @param leading the leading ranks in order of importance
+   * @return the strength
+   */
+  private static int pack(HandRank rank, int kickers, int kickerCount, int... leading) {
+    int strength = rank.getValue();
+    int slots = 0;
+
+    for (int lead : leading) {
+      strength = (strength << 4) | (lead + 2);
+      slots++;
+    }
+
+    int limit = slots + kickerCount;
+    for (int card = SUIT_SIZE - 1; card >= 0 && slots < limit; card--) {
+      if ((kickers & (1 << card)) != 0) {
+        strength = (strength << 4) | (card + 2);
+        slots++;
+      }
+    }
+
+    return strength << (4 * (5 - slots));
+  }
+
+  /**
+   * Holds the lookup tables in use, fixed when first read.
+   */
+  private static final class Tables {
+    private static final EvaluatorTables CURRENT = fixTables();
+  }
+}
@@ -7,6 +7,14 @@ public enum HandRank {
   Royal_Flush(10), Straight_Flush(9), Four_Kind(8), Full_House(7), Flush(6),
   Straight(5), Three_Kind(4), Two_Pair(3), Pair(2), High_Card(1);
 
+  private static final HandRank[] BY_VALUE = new HandRank[values().length + 1];
+
+  static {
+    for (HandRank rank : values()) {
+      BY_VALUE[rank.value] = rank;
+    }
+  }
+
   private int value;
 
   /**
@@ -25,5 +33,12 @@ public enum HandRank {
     return value;
   }
 
-
+  /**
+   * Retrieves the HandRank of a strength computed by the {@link HandEvaluator}.
+   * @param strength the strength value
+   * @return the matching HandRank
+   */
+  public static HandRank fromStrength(int strength) {
+    return BY_VALUE[HandEvaluator.category(strength)];
+  }
 }
@@ -0,0 +1,97 @@
+package game.poker.rules;
+
+import game.deck.Hand;
+
+/**
+ * Represents the complete value of a poker hand: its rank followed by the card ranks that
+ * decide between hands of the same rank, packed into a single int.
+ */
+public final class HandValue implements Comparable<HandValue> {
+  private static final int KICKERS = 5;
+
+  private final int strength;
+
+  /**
+   * Constructs a HandValue from a packed strength.
+   * @param strength the strength computed by the {@link HandEvaluator}
+   */
+  private HandValue(int strength) {
+    this.strength = strength;
+  }
+
+  /**
+   * Creates a HandValue from a packed strength.
+   * @param strength the strength computed by the {@link HandEvaluator}
+   * @return the hand value
+   */
+  public static HandValue of(int strength) {
+    return new HandValue(strength);
+  }
+
+  /**
+   * Evaluates every card of a hand.
+   * @param hand the hand to evaluate
+   * @return the value of the best five cards within the hand
+   */
+  public static HandValue of(Hand hand) {
+    return new HandValue(HandEvaluator.evaluateAll(hand.getMask()));
+  }
+
+  /**
+   * Retrieves the hand rank.
+   * @return the hand rank
+   */
+  public HandRank getRank() {
+    return HandRank.fromStrength(strength);
+  }
+
+  /**
+   * Retrieves a deciding card rank, ordered from most to least important.
+   * @param position the position of the kicker, starting at zero
+   * @return the card rank, or zero if the hand has no kicker at that position
+   */
+  public int getKicker(int position) {
+    if (position < 0 || position >= KICKERS) {
+      throw new IllegalArgumentException("Invalid kicker position");
+    }
+
+    return (strength >>> (4 * (KICKERS - 1 - position))) & 0xF;
+  }
+
+  /**
+   * Retrieves the packed strength.
+   * @return the packed strength
+   */
+  public int getStrength() {
+    return strength;
+  }
+
+  @Override
+  public int compareTo(HandValue other) {
+    return Integer.compare(strength, other.strength);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+
+    return strength == ((HandValue) o).strength;
+  }
+
+  @Override
+  public int hashCode() {
+    return strength;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder(getRank().toString());
+
+    for (int i = 0; i < KICKERS && getKicker(i) != 0; i++) {
+      builder.append(i == 0 ? " " : ", ").append(getKicker(i));
+    }
+
+    return builder.toString();
+  }
+}
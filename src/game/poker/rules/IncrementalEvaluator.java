@@ -0,0 +1,159 @@
+package game.poker.rules;
+
+import java.util.List;
+
+import game.deck.Card;
+
+/**
+ * Evaluates a set of cards that changes one card at a time. Adding or removing a card only
+ * updates the running key sum and suit counts, so the strength of the current cards is
+ * available at any point without evaluating them from scratch.
+ */
+public class IncrementalEvaluator {
+  private static final int SUIT_SIZE = 13;
+
+  private long cards;
+  private int key;
+  private int twos;
+  private final int[] suits;
+
+  /**
+   * Constructs an IncrementalEvaluator with no cards.
+   */
+  public IncrementalEvaluator() {
+    this.cards = 0;
+    this.key = 0;
+    this.twos = 0;
+    this.suits = new int[4];
+  }
+
+  /**
+   * Constructs an IncrementalEvaluator starting with the given cards.
+   * @param cards the starting cards
+   */
+  public IncrementalEvaluator(List<Card> cards) {
+    this();
+    cards.forEach(this::add);
+  }
+
+  /**
+   * Constructs an IncrementalEvaluator by copying another one.
+   * @param other the evaluator to copy
+   */
+  public IncrementalEvaluator(IncrementalEvaluator other) {
+    this.cards = other.cards;
+    this.key = other.key;
+    this.twos = other.twos;
+    this.suits = other.suits.clone();
+  }
+
+  /**
+   * Adds a card.
+   * @param index the bit index of the card
+   * @throws IllegalArgumentException if the card is already present or there are too many cards
+   */
+  public void add(int index) {
+    long bit = 1L << index;
+    if ((cards & bit) != 0) {
+      throw new IllegalArgumentException("Card already added");
+    }
+    if (size() == HandEvaluator.MAX_CARDS) {
+      throw new IllegalArgumentException("Too many cards to evaluate");
+    }
+
+    cards |= bit;
+    key += HandEvaluator.keyOf(index);
+    twos += index % SUIT_SIZE == 0 ? 1 : 0;
+    suits[index / SUIT_SIZE]++;
+  }
+
+  /**
+   * Adds a card.
+   * @param card the card to add
+   */
+  public void add(Card card) {
+    add(card.getIndex());
+  }
+
+  /**
+   * Removes a card.
+   * @param index the bit index of the card
+   * @throws IllegalArgumentException if the card is not present
+   */
+  public void remove(int index) {
+    long bit = 1L << index;
+    if ((cards & bit) == 0) {
+      throw new IllegalArgumentException("Card not present");
+    }
+
+    cards &= ~bit;
+    key -= HandEvaluator.keyOf(index);
+    twos -= index % SUIT_SIZE == 0 ? 1 : 0;
+    suits[index / SUIT_SIZE]--;
+  }
+
+  /**
+   * Removes a card.
+   * @param card the card to remove
+   */
+  public void remove(Card card) {
+    remove(card.getIndex());
+  }
+
+  /**
+   * Determines the strength of the current cards.
+   * @return the strength of the best hand within the current cards
+   */
+  public int strength() {
+    for (int suit = 0; suit < 4; suit++) {
+      if (suits[suit] >= 5) {
+        return HandEvaluator.flushStrengthOf(HandEvaluator.suitRanks(cards, suit));
+      }
+    }
+
+    return HandEvaluator.unsuitedStrengthOf(key, twos);
+  }
+
+  /**
+   * Determines the strength of the current cards combined with two more cards, without
+   * changing the current cards.
+   * @param first the bit index of the first extra card
+   * @param second the bit index of the second extra card
+   * @return the strength of the best hand within all the cards
+   */
+  public int strengthWith(int first, int second) {
+    add(first);
+    add(second);
+    int strength = strength();
+    remove(second);
+    remove(first);
+
+    return strength;
+  }
+
+  /**
+   * Determines the strength of the current cards combined with two more cards, without
+   * changing the current cards.
+   * @param hole the extra cards
+   * @return the strength of the best hand within all the cards
+   */
+  public int strengthWith(List<Card> hole) {
+    return strengthWith(hole.get(0).getIndex(), hole.get(1).getIndex());
+  }
+
+  /**
+   * Retrieves the current cards.
+   * @return the card mask of the current cards
+   */
+  public long getCards() {
+    return cards;
+  }
+
+  /**
+   * Determines the amount of current cards.
+   * @return the amount of current cards
+   */
+  public int size() {
+    return Long.bitCount(cards);
+  }
+}
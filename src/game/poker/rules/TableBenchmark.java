@@ -0,0 +1,192 @@
+package game.poker.rules;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Measures the evaluator tables: how long they take to generate, write and load, and how many
+ * hands per second are evaluated from the mapped table file compared with the same tables copied
+ * into arrays on the heap.
+ */
+public class TableBenchmark {
+  private static final int HANDS = 1 << 20;
+
+  /**
+   * Runs the benchmark.
+   * @param args optionally the amount of rounds, 10 by default
+   * @throws IOException if the table file cannot be written or loaded
+   */
+  public static void main(String[] args) throws IOException {
+    int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+    Path file = Files.createTempFile("evaluator", ".tables");
+
+    try {
+      long start = System.nanoTime();
+      EvaluatorTables generated = EvaluatorTables.generate();
+      long generating = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      generated.write(file);
+      long writing = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      EvaluatorTables mapped = EvaluatorTables.load(file);
+      long loading = System.nanoTime() - start;
+
+      System.out.printf("generate %.1f ms, write %.1f ms, load %.1f ms, %d bytes%n",
+              generating / 1e6, writing / 1e6, loading / 1e6, Files.size(file));
+
+      ArrayTables arrays = new ArrayTables(mapped.payload());
+      long[] hands = hands(new Random(9));
+      for (int n = 0; n < rounds; n++) {
+        measure(mapped, hands);
+        measure(arrays, hands);
+      }
+
+      System.out.printf("%6s %14s %14s%n", "round", "mapped M/s", "arrays M/s");
+      for (int n = 0; n < rounds; n++) {
+        System.out.printf("%6d %14.1f %14.1f%n", n, measure(mapped, hands),
+                measure(arrays, hands));
+      }
+    }
+    finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Draws random seven card hands.
+   * @param rand the source of randomness
+   * @return the hands
+   */
+  private static long[] hands(Random rand) {
+    long[] hands = new long[HANDS];
+    for (int i = 0; i < hands.length; i++) {
+      while (Long.bitCount(hands[i]) < HandEvaluator.MAX_CARDS) {
+        hands[i] |= 1L << rand.nextInt(52);
+      }
+    }
+
+    return hands;
+  }
+
+  /**
+   * Evaluates every hand with tables served from a buffer.
+   * @param tables the tables
+   * @param hands the hands
+   * @return the millions of hands evaluated per second
+   */
+  private static double measure(EvaluatorTables tables, long[] hands) {
+    long start = System.nanoTime();
+    int sum = 0;
+    for (long hand : hands) {
+      sum += tables.evaluate(hand);
+    }
+
+    return rate(hands.length, System.nanoTime() - start, sum);
+  }
+
+  /**
+   * Evaluates every hand with tables held in arrays.
+   * @param tables the tables
+   * @param hands the hands
+   * @return the millions of hands evaluated per second
+   */
+  private static double measure(ArrayTables tables, long[] hands) {
+    long start = System.nanoTime();
+    int sum = 0;
+    for (long hand : hands) {
+      sum += tables.evaluate(hand);
+    }
+
+    return rate(hands.length, System.nanoTime() - start, sum);
+  }
+
+  /**
+   * Determines the rate of evaluation, keeping the sum of the strengths alive.
+   * @param hands the amount of hands evaluated
+   * @param nanos the time taken in nanoseconds
+   * @param sum the sum of the strengths
+   * @return the millions of hands evaluated per second
+   */
+  private static double rate(int hands, long nanos, int sum) {
+    if (sum == 42) {
+      System.out.print("");
+    }
+
+    return hands / (nanos / 1e3);
+  }
+
+  /**
+   * The evaluator tables copied into arrays, as a baseline for the buffer lookups.
+   */
+  private static final class ArrayTables {
+    private static final int SUIT_SIZE = 13;
+    private static final int SUIT_MASK = 0x1FFF;
+
+    private final int[] maskKeys = new int[SUIT_MASK + 1];
+    private final int[] flushes = new int[SUIT_MASK + 1];
+    private final int[] unsuited;
+    private final char[] multisets = new char[HandEvaluator.MAX_KEY + 1];
+
+    /**
+     * Constructs ArrayTables by copying the tables out of a buffer.
+     * @param payload the tables one after another
+     */
+    private ArrayTables(ByteBuffer payload) {
+      int unsuitedBytes = payload.remaining() - Integer.BYTES * (maskKeys.length + flushes.length)
+              - Character.BYTES * multisets.length;
+      this.unsuited = new int[unsuitedBytes / Integer.BYTES];
+
+      for (int i = 0; i < maskKeys.length; i++) {
+        maskKeys[i] = payload.getInt();
+      }
+      for (int i = 0; i < flushes.length; i++) {
+        flushes[i] = payload.getInt();
+      }
+      for (int i = 0; i < unsuited.length; i++) {
+        unsuited[i] = payload.getInt();
+      }
+      for (int i = 0; i < multisets.length; i++) {
+        multisets[i] = payload.getChar();
+      }
+    }
+
+    /**
+     * Evaluates a set of at most seven cards.
+     * @param cards the card mask
+     * @return the strength of the cards
+     */
+    private int evaluate(long cards) {
+      if (Long.bitCount(cards) > HandEvaluator.MAX_CARDS) {
+        throw new IllegalArgumentException("Too many cards to evaluate");
+      }
+
+      int clubs = (int) cards & SUIT_MASK;
+      int diamonds = (int) (cards >>> SUIT_SIZE) & SUIT_MASK;
+      int hearts = (int) (cards >>> (2 * SUIT_SIZE)) & SUIT_MASK;
+      int spades = (int) (cards >>> (3 * SUIT_SIZE)) & SUIT_MASK;
+
+      if (Integer.bitCount(clubs) >= 5) {
+        return flushes[clubs];
+      }
+      if (Integer.bitCount(diamonds) >= 5) {
+        return flushes[diamonds];
+      }
+      if (Integer.bitCount(hearts) >= 5) {
+        return flushes[hearts];
+      }
+      if (Integer.bitCount(spades) >= 5) {
+        return flushes[spades];
+      }
+
+      int key = maskKeys[clubs] + maskKeys[diamonds] + maskKeys[hearts] + maskKeys[spades];
+      int twos = (clubs & 1) + (diamonds & 1) + (hearts & 1) + (spades & 1);
+
+      return unsuited[multisets[key] * 5 + twos];
+    }
+  }
+}
@@ -1,19 +1,31 @@
 package game.util;
 
+import java.util.AbstractSet;
 import java.util.Collection;
-import java.util.TreeSet;
-import java.util.stream.IntStream;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
 
 /**
  * Represents a set that loops end-to-end.
+ *
+ * <p>The values are held in a {@link SeatRing}, so they must not be negative. The set is sorted
+ * in natural order, and its ranges and descending views are backed by the same ring.</p>
  */
-public class CyclicSet extends TreeSet<Integer> {
+public class CyclicSet extends AbstractSet<Integer> implements NavigableSet<Integer> {
+  private static final long LIMIT = (long) Integer.MAX_VALUE + 1;
+
+  private final SeatRing ring;
+  private final Span all;
 
   /**
    * Constructs an empty CyclicSet.
    */
   public CyclicSet() {
-    super();
+    this(new SeatRing());
   }
 
   /**
@@ -21,7 +33,17 @@ public class CyclicSet extends TreeSet<Integer> {
    * @param c the preliminary values to fill the set
    */
   public CyclicSet(Collection<Integer> c) {
-    super(c);
+    this();
+    addAll(c);
+  }
+
+  /**
+   * Constructs a CyclicSet viewing a ring of seats. Changes to either are seen by both.
+   * @param ring the ring of seats
+   */
+  public CyclicSet(SeatRing ring) {
+    this.ring = ring;
+    this.all = new Span(0, LIMIT, false);
   }
 
   /**
@@ -30,13 +52,7 @@ public class CyclicSet extends TreeSet<Integer> {
    * @return the next item in the set
    */
   public Integer nextItem(int start) {
-
-    if (higher(start) != null) {
-      return higher(start);
-    }
-    else {
-     return first();
-    }
+    return ring.next(start);
   }
 
   /**
@@ -45,13 +61,7 @@ public class CyclicSet extends TreeSet<Integer> {
    * @return the previous item in the set
    */
   public Integer previousFrom(int start) {
-
-    if (lower(start) != null) {
-      return lower(start);
-    }
-    else {
-      return last();
-    }
+    return ring.previous(start);
   }
 
   /**
@@ -61,9 +71,7 @@ public class CyclicSet extends TreeSet<Integer> {
    * @return the item in the set a given distance after a starting value
    */
   public Integer fromStart(int start, int distance) {
-    int[] result = new int[]{start};
-    IntStream.range(0, distance).forEach(n -> result[0] = nextItem(result[0]));
-    return result[0];
+    return ring.fromStart(start, distance);
   }
 
   /**
@@ -73,8 +81,397 @@ public class CyclicSet extends TreeSet<Integer> {
    * @return the item in the set a given distance before a starting value
    */
   public Integer fromEnd(int start, int distance) {
-    int[] result = new int[]{start};
-    IntStream.range(0, distance).forEach(n -> result[0] = previousFrom(result[0]));
-    return result[0];
+    return ring.fromEnd(start, distance);
+  }
+
+  /**
+   * Retrieves the lowest item in the set.
+   * @return the lowest item
+   */
+  @Override
+  public Integer first() {
+    return ring.first();
+  }
+
+  /**
+   * Retrieves the highest item in the set.
+   * @return the highest item
+   */
+  @Override
+  public Integer last() {
+    return ring.last();
+  }
+
+  @Override
+  public Integer lower(Integer value) {
+    return all.lower(value);
+  }
+
+  @Override
+  public Integer floor(Integer value) {
+    return all.floor(value);
+  }
+
+  @Override
+  public Integer ceiling(Integer value) {
+    return all.ceiling(value);
+  }
+
+  @Override
+  public Integer higher(Integer value) {
+    return all.higher(value);
+  }
+
+  @Override
+  public Integer pollFirst() {
+    return all.pollFirst();
+  }
+
+  @Override
+  public Integer pollLast() {
+    return all.pollLast();
+  }
+
+  @Override
+  public boolean add(Integer value) {
+    return ring.add(value);
+  }
+
+  @Override
+  public boolean remove(Object value) {
+    return value instanceof Integer && ring.remove((Integer) value);
+  }
+
+  @Override
+  public boolean contains(Object value) {
+    return value instanceof Integer && ring.contains((Integer) value);
+  }
+
+  @Override
+  public void clear() {
+    ring.clear();
+  }
+
+  @Override
+  public int size() {
+    return ring.size();
+  }
+
+  @Override
+  public Iterator<Integer> iterator() {
+    return all.iterator();
+  }
+
+  @Override
+  public Iterator<Integer> descendingIterator() {
+    return all.descendingIterator();
+  }
+
+  @Override
+  public NavigableSet<Integer> descendingSet() {
+    return all.descendingSet();
+  }
+
+  @Override
+  public Comparator<? super Integer> comparator() {
+    return null;
+  }
+
+  @Override
+  public NavigableSet<Integer> subSet(Integer fromElement, boolean fromInclusive,
+                                      Integer toElement, boolean toInclusive) {
+    return all.subSet(fromElement, fromInclusive, toElement, toInclusive);
+  }
+
+  @Override
+  public NavigableSet<Integer> headSet(Integer toElement, boolean inclusive) {
+    return all.headSet(toElement, inclusive);
+  }
+
+  @Override
+  public NavigableSet<Integer> tailSet(Integer fromElement, boolean inclusive) {
+    return all.tailSet(fromElement, inclusive);
+  }
+
+  @Override
+  public SortedSet<Integer> subSet(Integer fromElement, Integer toElement) {
+    return subSet(fromElement, true, toElement, false);
+  }
+
+  @Override
+  public SortedSet<Integer> headSet(Integer toElement) {
+    return headSet(toElement, false);
+  }
+
+  @Override
+  public SortedSet<Integer> tailSet(Integer fromElement) {
+    return tailSet(fromElement, true);
+  }
+
+  /**
+   * Creates a CyclicSet holding the same items, with a ring of its own.
+   * @return the copy
+   */
+  @Override
+  public CyclicSet clone() {
+    return new CyclicSet(new SeatRing(ring));
+  }
+
+  /**
+   * A view of the items within a range of values, in ascending or descending order.
+   */
+  private class Span extends AbstractSet<Integer> implements NavigableSet<Integer> {
+    private final long low;
+    private final long high;
+    private final boolean descending;
+
+    /**
+     * Constructs a Span.
+     * @param low the lowest value in range
+     * @param high the value above the highest value in range
+     * @param descending whether the view is ordered from high to low
+     */
+    private Span(long low, long high, boolean descending) {
+      this.low = low;
+      this.high = high;
+      this.descending = descending;
+    }
+
+    @Override
+    public Integer lower(Integer value) {
+      return descending ? above(value + 1L) : below(value - 1L);
+    }
+
+    @Override
+    public Integer floor(Integer value) {
+      return descending ? above(value) : below(value);
+    }
+
+    @Override
+    public Integer ceiling(Integer value) {
+      return descending ? below(value) : above(value);
+    }
+
+    @Override
+    public Integer higher(Integer value) {
+      return descending ? below(value - 1L) : above(value + 1L);
+    }
+
+    @Override
+    public Integer first() {
+      return existing(descending ? below(high - 1) : above(low));
+    }
+
+    @Override
+    public Integer last() {
+      return existing(descending ? above(low) : below(high - 1));
+    }
+
+    @Override
+    public Integer pollFirst() {
+      return poll(descending ? below(high - 1) : above(low));
+    }
+
+    @Override
+    public Integer pollLast() {
+      return poll(descending ? above(low) : below(high - 1));
+    }
+
+    @Override
+    public boolean add(Integer value) {
+      if (!inRange(value)) {
+        throw new IllegalArgumentException("Value out of range");
+      }
+
+      return ring.add(value);
+    }
+
+    @Override
+    public boolean remove(Object value) {
+      return contains(value) && ring.remove((Integer) value);
+    }
+
+    @Override
+    public boolean contains(Object value) {
+      return value instanceof Integer && inRange((Integer) value)
+              && ring.contains((Integer) value);
+    }
+
+    @Override
+    public int size() {
+      return high > low ? countBelow(high) - countBelow(low) : 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return above(low) == null;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+      return new Iterator<Integer>() {
+        private Integer next = descending ? below(high - 1) : above(low);
+        private Integer last;
+
+        @Override
+        public boolean hasNext() {
+          return next != null;
+        }
+
+        @Override
+        public Integer next() {
+          if (next == null) {
+            throw new NoSuchElementException();
+          }
+
+          last = next;
+          next = higher(next);
+          return last;
+        }
+
+        @Override
+        public void remove() {
+          if (last == null) {
+            throw new IllegalStateException();
+          }
+
+          ring.remove(last);
+          last = null;
+        }
+      };
+    }
+
+    @Override
+    public Iterator<Integer> descendingIterator() {
+      return descendingSet().iterator();
+    }
+
+    @Override
+    public NavigableSet<Integer> descendingSet() {
+      return new Span(low, high, !descending);
+    }
+
+    @Override
+    public Comparator<? super Integer> comparator() {
+      return descending ? Collections.reverseOrder() : null;
+    }
+
+    @Override
+    public NavigableSet<Integer> subSet(Integer fromElement, boolean fromInclusive,
+                                        Integer toElement, boolean toInclusive) {
+      if (descending ? fromElement < toElement : fromElement > toElement) {
+        throw new IllegalArgumentException("Range starts after it ends");
+      }
+
+      return headSet(toElement, toInclusive).tailSet(fromElement, fromInclusive);
+    }
+
+    @Override
+    public NavigableSet<Integer> headSet(Integer toElement, boolean inclusive) {
+      if (descending) {
+        return new Span(Math.max(low, toElement + (inclusive ? 0L : 1L)), high, true);
+      }
+
+      return new Span(low, Math.min(high, toElement + (inclusive ? 1L : 0L)), false);
+    }
+
+    @Override
+    public NavigableSet<Integer> tailSet(Integer fromElement, boolean inclusive) {
+      if (descending) {
+        return new Span(low, Math.min(high, fromElement + (inclusive ? 1L : 0L)), true);
+      }
+
+      return new Span(Math.max(low, fromElement + (inclusive ? 0L : 1L)), high, false);
+    }
+
+    @Override
+    public SortedSet<Integer> subSet(Integer fromElement, Integer toElement) {
+      return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public SortedSet<Integer> headSet(Integer toElement) {
+      return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<Integer> tailSet(Integer fromElement) {
+      return tailSet(fromElement, true);
+    }
+
+    /**
+     * Finds the lowest item in range at or above a value.
+     * @param value the value
+     * @return the item, or null if there is none
+     */
+    private Integer above(long value) {
+      long from = Math.max(value, low);
+      if (from >= high) {
+        return null;
+      }
+
+      int seat = ring.contains((int) from) ? (int) from : ring.higher((int) from);
+      return seat >= 0 && seat < high ? seat : null;
+    }
+
+    /**
+     * Finds the highest item in range at or below a value.
+     * @param value the value
+     * @return the item, or null if there is none
+     */
+    private Integer below(long value) {
+      long to = Math.min(value, high - 1);
+      if (to < low) {
+        return null;
+      }
+
+      int seat = ring.contains((int) to) ? (int) to : ring.lower((int) to);
+      return seat >= low ? seat : null;
+    }
+
+    /**
+     * Counts the items below a value.
+     * @param value the value
+     * @return the amount of items
+     */
+    private int countBelow(long value) {
+      return value >= LIMIT ? ring.size() : ring.rank((int) value);
+    }
+
+    /**
+     * Determines if a value is within the range of the view.
+     * @param value the value
+     * @return if the value is in range
+     */
+    private boolean inRange(int value) {
+      return value >= low && value < high;
+    }
+
+    /**
+     * Removes an item if one was found.
+     * @param value the item found, or null
+     * @return the item removed, or null if none was found
+     */
+    private Integer poll(Integer value) {
+      if (value != null) {
+        ring.remove(value);
+      }
+
+      return value;
+    }
+
+    /**
+     * Ensures an item was found.
+     * @param value the item found, or null
+     * @return the item
+     * @throws NoSuchElementException if no item was found
+     */
+    private Integer existing(Integer value) {
+      if (value == null) {
+        throw new NoSuchElementException();
+      }
+
+      return value;
+    }
   }
 }
@@ -0,0 +1,191 @@
+package game.util;
+
+import java.security.SecureRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A cryptographically strong random source fed by a background thread.
+ *
+ * <p>The refill thread fills blocks of bytes with {@link SecureRandom#nextBytes(byte[])} and
+ * queues them in a bounded ring of ready blocks. Numbers are taken from the current block, and
+ * an exhausted block is swapped for the next ready one without waiting. Only when the ring is
+ * empty is a block filled on the calling thread, which is counted as a stall. Bounded integers
+ * are drawn by rejection so that every value is equally likely.</p>
+ *
+ * <p>A pool may be shared between threads, so {@link #split()} returns the pool itself.</p>
+ */
+public class EntropyPool implements RandomSource, AutoCloseable {
+  public static final int DEFAULT_BLOCK_SIZE = 4096;
+  public static final int DEFAULT_BLOCKS = 8;
+
+  private final SecureRandom secure;
+  private final int blockSize;
+  private final BlockingQueue<byte[]> ready;
+  private final Thread refiller;
+
+  private byte[] current;
+  private int position;
+
+  private final LongAdder refills;
+  private final LongAdder refillNanos;
+  private final LongAdder stalls;
+  private volatile boolean open;
+
+  /**
+   * Constructs an EntropyPool with the default block size and ring length.
+   */
+  public EntropyPool() {
+    this(new SecureRandom(), DEFAULT_BLOCK_SIZE, DEFAULT_BLOCKS);
+  }
+
+  /**
+   * Constructs an EntropyPool and starts its refill thread.
+   * @param secure the strong generator to draw bytes from
+   * @param blockSize the amount of bytes filled at once
+   * @param blocks the most filled blocks kept ready
+   * @throws IllegalArgumentException if a block is under eight bytes or no blocks are kept
+   */
+  public EntropyPool(SecureRandom secure, int blockSize, int blocks) {
+    if (blockSize < Long.BYTES || blocks < 1) {
+      throw new IllegalArgumentException("Pool too small");
+    }
+
+    this.secure = secure;
+    this.blockSize = blockSize;
+    this.ready = new ArrayBlockingQueue<>(blocks);
+    this.current = new byte[0];
+    this.position = 0;
+    this.refills = new LongAdder();
+    this.refillNanos = new LongAdder();
+    this.stalls = new LongAdder();
+    this.open = true;
+
+    this.refiller = new Thread(this::refill, "entropy-pool");
+    refiller.setDaemon(true);
+    refiller.start();
+  }
+
+  @Override
+  public synchronized int nextInt(int bound) {
+    if (bound <= 0) {
+      throw new IllegalArgumentException("Bound must be positive");
+    }
+
+    int bits = nextBits() >>> 1;
+    int value = bits % bound;
+    while (bits - value + (bound - 1) < 0) {
+      bits = nextBits() >>> 1;
+      value = bits % bound;
+    }
+
+    return value;
+  }
+
+  @Override
+  public synchronized double nextDouble() {
+    long bits = ((long) nextBits() << 32) | (nextBits() & 0xFFFFFFFFL);
+    return (bits >>> 11) * 0x1.0p-53;
+  }
+
+  @Override
+  public RandomSource split() {
+    return this;
+  }
+
+  /**
+   * Stops the refill thread. Numbers can still be drawn afterwards, filling blocks on the
+   * calling thread.
+   */
+  @Override
+  public void close() {
+    open = false;
+    refiller.interrupt();
+  }
+
+  /**
+   * Retrieves the amount of filled bytes ready to draw from without a stall.
+   * @return the pool depth in bytes
+   */
+  public synchronized int getDepth() {
+    return ready.size() * blockSize + current.length - position;
+  }
+
+  /**
+   * Retrieves the amount of blocks filled so far, by either thread.
+   * @return the refill count
+   */
+  public long getRefills() {
+    return refills.sum();
+  }
+
+  /**
+   * Retrieves the average time taken to fill a block.
+   * @return the average refill latency in nanoseconds, or 0 before the first refill
+   */
+  public double getAverageRefillNanos() {
+    long count = refills.sum();
+    return count == 0 ? 0 : refillNanos.sum() / (double) count;
+  }
+
+  /**
+   * Retrieves the amount of times a block had to be filled on the drawing thread.
+   * @return the stall count
+   */
+  public long getStalls() {
+    return stalls.sum();
+  }
+
+  /**
+   * Takes the next 32 random bits, moving to the next block when the current one runs out.
+   * @return the random bits
+   */
+  private int nextBits() {
+    if (position + Integer.BYTES > current.length) {
+      byte[] next = ready.poll();
+      if (next == null) {
+        stalls.increment();
+        next = fill();
+      }
+
+      current = next;
+      position = 0;
+    }
+
+    int bits = (current[position] & 0xFF) << 24 | (current[position + 1] & 0xFF) << 16
+            | (current[position + 2] & 0xFF) << 8 | (current[position + 3] & 0xFF);
+    position += Integer.BYTES;
+
+    return bits;
+  }
+
+  /**
+   * Fills a new block with strong random bytes.
+   * @return the filled block
+   */
+  private byte[] fill() {
+    long start = System.nanoTime();
+    byte[] block = new byte[blockSize];
+    secure.nextBytes(block);
+
+    refillNanos.add(System.nanoTime() - start);
+    refills.increment();
+
+    return block;
+  }
+
+  /**
+   * Keeps the ring of ready blocks full until the pool is closed.
+   */
+  private void refill() {
+    try {
+      while (open) {
+        ready.put(fill());
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
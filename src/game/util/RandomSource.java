@@ -0,0 +1,76 @@
+package game.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Represents a source of random numbers that can be split into independent sources.
+ *
+ * <p>A source is meant to be used by one thread at a time. Anything that runs separately, such
+ * as a deck, a search or a worker thread, should take its own source through {@link #split()},
+ * so that every source derived from one seeded root repeats exactly on every run.</p>
+ */
+public interface RandomSource {
+
+  /**
+   * Generates a uniformly distributed integer.
+   * @param bound the exclusive upper bound, which must be positive
+   * @return an integer from 0 up to but excluding the bound
+   */
+  int nextInt(int bound);
+
+  /**
+   * Generates a uniformly distributed double.
+   * @return a double from 0 up to but excluding 1
+   */
+  double nextDouble();
+
+  /**
+   * Creates a new source whose numbers are independent of this one. Splitting advances this
+   * source.
+   * @return the new source
+   */
+  RandomSource split();
+
+  /**
+   * Creates a source from a seed. Sources created from the same seed produce the same numbers.
+   * @param seed the seed
+   * @return the source
+   */
+  static RandomSource seeded(long seed) {
+    return new Splittable(new SplittableRandom(seed));
+  }
+
+  /**
+   * Creates a source with an unpredictable seed.
+   * @return the source
+   */
+  static RandomSource create() {
+    return new Splittable(new SplittableRandom());
+  }
+
+  /**
+   * A source backed by a {@link SplittableRandom}.
+   */
+  final class Splittable implements RandomSource {
+    private final SplittableRandom random;
+
+    private Splittable(SplittableRandom random) {
+      this.random = random;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+      return random.nextInt(bound);
+    }
+
+    @Override
+    public double nextDouble() {
+      return random.nextDouble();
+    }
+
+    @Override
+    public RandomSource split() {
+      return new Splittable(random.split());
+    }
+  }
+}
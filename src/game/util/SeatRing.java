@@ -0,0 +1,328 @@
+package game.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents the occupied seats of a table as a ring of bits, one for each seat number.
+ *
+ * <p>Seats up to 63 fit in a single long, so finding the next or previous occupied seat is a
+ * masked trailing or leading zero count, and stepping several seats around the ring is a count of
+ * the seats below followed by a select. Larger tables grow the ring one long at a time.</p>
+ */
+public class SeatRing {
+  private static final int WORD_BITS = Long.SIZE;
+
+  private long[] words;
+  private int size;
+
+  /**
+   * Constructs an empty SeatRing.
+   */
+  public SeatRing() {
+    this.words = new long[1];
+    this.size = 0;
+  }
+
+  /**
+   * Constructs a SeatRing with the same seats as another.
+   * @param other the ring to copy
+   */
+  public SeatRing(SeatRing other) {
+    this.words = other.words.clone();
+    this.size = other.size;
+  }
+
+  /**
+   * Occupies a seat.
+   * @param seat the seat number
+   * @return whether the seat was empty before
+   * @throws IllegalArgumentException if the seat number is negative
+   */
+  public boolean add(int seat) {
+    checkSeat(seat);
+    int word = seat >>> 6;
+    if (word >= words.length) {
+      words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+    }
+
+    long bit = 1L << seat;
+    if ((words[word] & bit) != 0) {
+      return false;
+    }
+
+    words[word] |= bit;
+    size++;
+    return true;
+  }
+
+  /**
+   * Empties a seat.
+   * @param seat the seat number
+   * @return whether the seat was occupied before
+   */
+  public boolean remove(int seat) {
+    if (!contains(seat)) {
+      return false;
+    }
+
+    words[seat >>> 6] &= ~(1L << seat);
+    size--;
+    return true;
+  }
+
+  /**
+   * Occupies or empties a seat.
+   * @param seat the seat number
+   * @param occupied whether the seat should be occupied
+   */
+  public void set(int seat, boolean occupied) {
+    if (occupied) {
+      add(seat);
+    }
+    else {
+      remove(seat);
+    }
+  }
+
+  /**
+   * Empties every seat.
+   */
+  public void clear() {
+    Arrays.fill(words, 0);
+    size = 0;
+  }
+
+  /**
+   * Determines if a seat is occupied.
+   * @param seat the seat number
+   * @return if the seat is occupied
+   */
+  public boolean contains(int seat) {
+    int word = seat >>> 6;
+    return seat >= 0 && word < words.length && (words[word] & (1L << seat)) != 0;
+  }
+
+  /**
+   * Retrieves the amount of occupied seats.
+   * @return the amount of occupied seats
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Determines if no seat is occupied.
+   * @return if no seat is occupied
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Retrieves the lowest occupied seat.
+   * @return the lowest occupied seat
+   * @throws NoSuchElementException if no seat is occupied
+   */
+  public int first() {
+    checkOccupied();
+    return higher(-1);
+  }
+
+  /**
+   * Retrieves the highest occupied seat.
+   * @return the highest occupied seat
+   * @throws NoSuchElementException if no seat is occupied
+   */
+  public int last() {
+    checkOccupied();
+    return lower(Integer.MAX_VALUE);
+  }
+
+  /**
+   * Retrieves the lowest occupied seat above a seat, without looping around.
+   * @param seat the seat to start from
+   * @return the occupied seat, or -1 if there is none
+   */
+  public int higher(int seat) {
+    int from = Math.max(seat + 1, 0);
+    int word = from >>> 6;
+    if (seat == Integer.MAX_VALUE || word >= words.length) {
+      return -1;
+    }
+
+    long bits = words[word] & (-1L << from);
+    while (bits == 0) {
+      if (++word == words.length) {
+        return -1;
+      }
+      bits = words[word];
+    }
+
+    return word * WORD_BITS + Long.numberOfTrailingZeros(bits);
+  }
+
+  /**
+   * Retrieves the highest occupied seat below a seat, without looping around.
+   * @param seat the seat to start from
+   * @return the occupied seat, or -1 if there is none
+   */
+  public int lower(int seat) {
+    if (seat <= 0) {
+      return -1;
+    }
+
+    int to = seat - 1;
+    int word = to >>> 6;
+    long bits;
+    if (word >= words.length) {
+      word = words.length - 1;
+      bits = words[word];
+    }
+    else {
+      bits = words[word] & (-1L >>> (WORD_BITS - 1 - (to & (WORD_BITS - 1))));
+    }
+
+    while (bits == 0) {
+      if (--word < 0) {
+        return -1;
+      }
+      bits = words[word];
+    }
+
+    return word * WORD_BITS + WORD_BITS - 1 - Long.numberOfLeadingZeros(bits);
+  }
+
+  /**
+   * Retrieves the next occupied seat. Loops back to the start if starting from the end.
+   * @param seat the seat to start from
+   * @return the next occupied seat
+   * @throws NoSuchElementException if no seat is occupied
+   */
+  public int next(int seat) {
+    checkOccupied();
+    int next = higher(seat);
+    return next < 0 ? first() : next;
+  }
+
+  /**
+   * Retrieves the previous occupied seat. Loops back to the end if starting from the start.
+   * @param seat the seat to start from
+   * @return the previous occupied seat
+   * @throws NoSuchElementException if no seat is occupied
+   */
+  public int previous(int seat) {
+    checkOccupied();
+    int previous = lower(seat);
+    return previous < 0 ? last() : previous;
+  }
+
+  /**
+   * Retrieves the occupied seat a given amount of steps after a seat.
+   * @param seat the seat to start from
+   * @param distance the amount of occupied seats to step over
+   * @return the occupied seat reached, or the starting seat if the distance is not positive
+   * @throws NoSuchElementException if no seat is occupied
+   */
+  public int fromStart(int seat, int distance) {
+    if (distance <= 0) {
+      return seat;
+    }
+
+    int first = next(seat);
+    return nth((int) ((rank(first) + (long) distance - 1) % size));
+  }
+
+  /**
+   * Retrieves the occupied seat a given amount of steps before a seat.
+   * @param seat the seat to start from
+   * @param distance the amount of occupied seats to step over
+   * @return the occupied seat reached, or the starting seat if the distance is not positive
+   * @throws NoSuchElementException if no seat is occupied
+   */
+  public int fromEnd(int seat, int distance) {
+    if (distance <= 0) {
+      return seat;
+    }
+
+    int first = previous(seat);
+    int steps = (distance - 1) % size;
+    return nth((rank(first) - steps + size) % size);
+  }
+
+  /**
+   * Counts the occupied seats below a seat.
+   * @param seat the seat
+   * @return the amount of occupied seats numbered lower
+   */
+  public int rank(int seat) {
+    if (seat <= 0) {
+      return 0;
+    }
+
+    int word = Math.min(seat >>> 6, words.length);
+    int count = 0;
+    for (int i = 0; i < word; i++) {
+      count += Long.bitCount(words[i]);
+    }
+    if (word < words.length) {
+      count += Long.bitCount(words[word] & ((1L << seat) - 1));
+    }
+
+    return count;
+  }
+
+  /**
+   * Retrieves an occupied seat by its position among the occupied seats.
+   * @param index the position, counting from the lowest occupied seat
+   * @return the occupied seat
+   * @throws IndexOutOfBoundsException if the position is not below the amount of occupied seats
+   */
+  public int nth(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("No seat at " + index);
+    }
+
+    int word = 0;
+    int rest = index;
+    while (Long.bitCount(words[word]) <= rest) {
+      rest -= Long.bitCount(words[word++]);
+    }
+
+    long bits = words[word];
+    for (; rest > 0; rest--) {
+      bits &= bits - 1;
+    }
+
+    return word * WORD_BITS + Long.numberOfTrailingZeros(bits);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("[");
+    for (int seat = higher(-1); seat >= 0; seat = higher(seat)) {
+      builder.append(builder.length() > 1 ? ", " : "").append(seat);
+    }
+
+    return builder.append(']').toString();
+  }
+
+  /**
+   * Ensures that at least one seat is occupied.
+   */
+  private void checkOccupied() {
+    if (size == 0) {
+      throw new NoSuchElementException("No seats occupied");
+    }
+  }
+
+  /**
+   * Ensures that a seat number can be held.
+   * @param seat the seat number
+   */
+  private static void checkSeat(int seat) {
+    if (seat < 0) {
+      throw new IllegalArgumentException("Seat can't be negative");
+    }
+  }
+}
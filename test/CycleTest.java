@@ -2,6 +2,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
 
 import game.util.CyclicSet;
 
@@ -59,4 +62,66 @@ public class CycleTest {
     int loopedItem = linearCycle.fromEnd(2, 5);
     assertEquals(8, loopedItem);
   }
+
+  @Test
+  public void testNavigation() {
+    assertEquals(Integer.valueOf(6), linearCycle.higher(5));
+    assertEquals(null, linearCycle.higher(10));
+    assertEquals(Integer.valueOf(0), linearCycle.ceiling(-3));
+    assertEquals(Integer.valueOf(10), linearCycle.floor(70));
+    assertEquals(null, linearCycle.lower(0));
+    assertEquals(Arrays.asList(3, 4, 5), Arrays.asList(linearCycle.subSet(3, 6).toArray()));
+    assertEquals(Integer.valueOf(10), linearCycle.descendingIterator().next());
+  }
+
+  @Test
+  public void testMatchesTreeSet() {
+    Random rand = new Random(19);
+    CyclicSet set = new CyclicSet();
+    TreeSet<Integer> expected = new TreeSet<>();
+
+    for (int n = 0; n < 2000; n++) {
+      int value = rand.nextInt(150);
+      if (rand.nextBoolean()) {
+        assertEquals(expected.add(value), set.add(value));
+      }
+      else {
+        assertEquals(expected.remove(value), set.remove(value));
+      }
+
+      int from = rand.nextInt(160) - 5;
+      int to = from + rand.nextInt(80);
+      boolean fromInclusive = rand.nextBoolean();
+      boolean toInclusive = rand.nextBoolean();
+      assertViews(expected.subSet(from, fromInclusive, to, toInclusive),
+              set.subSet(from, fromInclusive, to, toInclusive), from);
+      assertViews(expected.headSet(to, toInclusive), set.headSet(to, toInclusive), from);
+      assertViews(expected.descendingSet().tailSet(to, toInclusive),
+              set.descendingSet().tailSet(to, toInclusive), from);
+    }
+
+    NavigableSet<Integer> low = set.headSet(75, false);
+    low.pollLast();
+    expected.headSet(75, false).pollLast();
+    assertEquals(expected, set);
+  }
+
+  /**
+   * Compares a view of a CyclicSet with the same view of a TreeSet.
+   * @param expected the view of the TreeSet
+   * @param actual the view of the CyclicSet
+   * @param value a value to navigate from
+   */
+  private static void assertViews(NavigableSet<Integer> expected, NavigableSet<Integer> actual,
+                                  int value) {
+    assertEquals(expected, actual);
+    assertEquals(expected.size(), actual.size());
+    assertEquals(Arrays.asList(expected.toArray()), Arrays.asList(actual.toArray()));
+    assertEquals(expected.lower(value), actual.lower(value));
+    assertEquals(expected.floor(value), actual.floor(value));
+    assertEquals(expected.ceiling(value), actual.ceiling(value));
+    assertEquals(expected.higher(value), actual.higher(value));
+    assertEquals(expected.isEmpty() ? null : expected.first(),
+            actual.isEmpty() ? null : actual.first());
+  }
 }
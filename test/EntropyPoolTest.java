@@ -0,0 +1,74 @@
+import org.junit.Test;
+
+import java.security.SecureRandom;
+import java.util.HashSet;
+import java.util.Set;
+
+import game.deck.ArrayDeck;
+import game.deck.Card;
+import game.deck.Deck;
+import game.util.EntropyPool;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+/**
+ * Tests for the EntropyPool random source.
+ */
+public class EntropyPoolTest {
+
+  @Test
+  public void testBounds() {
+    try (EntropyPool pool = new EntropyPool()) {
+      int[] counts = new int[6];
+      for (int i = 0; i < 60000; i++) {
+        counts[pool.nextInt(6)]++;
+      }
+      for (int count : counts) {
+        assertTrue(count > 9000 && count < 11000);
+      }
+
+      for (int i = 0; i < 1000; i++) {
+        double value = pool.nextDouble();
+        assertTrue(value >= 0 && value < 1);
+        assertTrue(pool.nextInt(Integer.MAX_VALUE) >= 0);
+      }
+    }
+  }
+
+  @Test
+  public void testMetrics() {
+    try (EntropyPool pool = new EntropyPool(new SecureRandom(), 64, 2)) {
+      for (int i = 0; i < 1000; i++) {
+        pool.nextInt(52);
+      }
+
+      assertTrue(pool.getRefills() >= 1000 * Integer.BYTES / 64);
+      assertTrue(pool.getAverageRefillNanos() > 0);
+      assertTrue(pool.getDepth() <= 3 * 64);
+    }
+  }
+
+  @Test
+  public void testClosed() {
+    EntropyPool pool = new EntropyPool(new SecureRandom(), 64, 1);
+    pool.close();
+    for (int i = 0; i < 100; i++) {
+      assertTrue(pool.nextInt(10) < 10);
+    }
+    assertTrue(pool.getStalls() > 0);
+  }
+
+  @Test
+  public void testDeck() {
+    try (EntropyPool pool = new EntropyPool()) {
+      Deck deck = new ArrayDeck(pool);
+      Set<Card> drawn = new HashSet<>();
+      while (deck.remainingCards() > 0) {
+        drawn.add(deck.drawCard());
+      }
+
+      assertEquals(Card.DECK_SIZE, drawn.size());
+    }
+  }
+}
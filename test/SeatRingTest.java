@@ -0,0 +1,80 @@
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import game.util.SeatRing;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+/**
+ * Tests for the SeatRing utility.
+ */
+public class SeatRingTest {
+
+  @Test
+  public void testSeats() {
+    SeatRing ring = new SeatRing();
+    assertTrue(ring.add(3));
+    assertFalse(ring.add(3));
+    ring.add(7);
+    ring.add(100);
+
+    assertEquals(3, ring.size());
+    assertEquals(3, ring.first());
+    assertEquals(100, ring.last());
+    assertEquals(100, ring.next(7));
+    assertEquals(3, ring.next(100));
+    assertEquals(100, ring.previous(3));
+    assertEquals(2, ring.rank(100));
+    assertEquals(7, ring.nth(1));
+
+    assertTrue(ring.remove(7));
+    assertFalse(ring.contains(7));
+    assertEquals(100, ring.next(3));
+    assertEquals("[3, 100]", ring.toString());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testEmpty() {
+    new SeatRing().next(0);
+  }
+
+  @Test
+  public void testAgainstTreeSet() {
+    Random random = new Random(19);
+    for (int round = 0; round < 200; round++) {
+      SeatRing ring = new SeatRing();
+      TreeSet<Integer> set = new TreeSet<>();
+      int seats = 1 + random.nextInt(round < 100 ? 64 : 200);
+      for (int i = 0; i < seats; i++) {
+        int seat = random.nextInt(seats);
+        if (random.nextBoolean()) {
+          assertEquals(set.add(seat), ring.add(seat));
+        }
+        else {
+          assertEquals(set.remove(seat), ring.remove(seat));
+        }
+      }
+      if (set.isEmpty()) {
+        continue;
+      }
+
+      for (int start = 0; start <= seats; start++) {
+        int distance = random.nextInt(2 * seats + 1);
+        int next = start;
+        int previous = start;
+        for (int n = 0; n < distance; n++) {
+          next = set.higher(next) != null ? set.higher(next) : set.first();
+          previous = set.lower(previous) != null ? set.lower(previous) : set.last();
+        }
+
+        assertEquals(next, ring.fromStart(start, distance));
+        assertEquals(previous, ring.fromEnd(start, distance));
+      }
+    }
+  }
+}
@@ -2,13 +2,17 @@ package ai;
 
 import game.deck.*;
 import game.poker.player.ComputerBrain;
+import game.poker.player.decision.PokerNode;
+import game.poker.player.decision.SearchTree;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertTrue;
 
 /**
@@ -52,7 +56,7 @@ public class MonteCarloTest {
     board.add(c4);
     board.add(c5);
 
-    ComputerBrain brain = new ComputerBrain(hand, board, 1, BET, 52);
+    ComputerBrain brain = new ComputerBrain(hand, board, 1, BET, 2);
     int result = brain.calculateBet();
     assertTrue(result > BET);
   }
@@ -94,4 +98,195 @@ public class MonteCarloTest {
     int result = brain.calculateBet();
     assertTrue(result > BET * 5);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testReproducible() {
+    hand.add(new Card(Suit.Clubs, Rank.Nine));
+    hand.add(new Card(Suit.Diamonds, Rank.Ten));
+    board.add(new Card(Suit.Hearts, Rank.Jack));
+    board.add(new Card(Suit.Spades, Rank.Four));
+    board.add(new Card(Suit.Spades, Rank.King));
+
+    for (int seed = 0; seed < 5; seed++) {
+      int first = new ComputerBrain(hand, board, 2, BET, seed).calculateBet();
+      int second = new ComputerBrain(hand, board, 2, BET, seed).calculateBet();
+      assertEquals(first, second);
+    }
+  }
+
+  @Test
+  public void testIterationLimit() {
+    hand.add(new Card(Suit.Clubs, Rank.Nine));
+    hand.add(new Card(Suit.Diamonds, Rank.Ten));
+    board.add(new Card(Suit.Hearts, Rank.Jack));
+    board.add(new Card(Suit.Spades, Rank.Four));
+    board.add(new Card(Suit.Spades, Rank.King));
+
+    ComputerBrain brain = new ComputerBrain(hand, board, 2, BET, 21);
+    brain.calculateBet(0, 37);
+    assertEquals(37, brain.getIterations());
+    assertTrue(brain.getElapsedNanos() > 0);
+  }
+
+  @Test
+  public void testExpandExplored() {
+    hand.add(new Card(Suit.Clubs, Rank.Nine));
+    hand.add(new Card(Suit.Diamonds, Rank.Ten));
+    board.add(new Card(Suit.Hearts, Rank.Jack));
+    board.add(new Card(Suit.Spades, Rank.Four));
+    board.add(new Card(Suit.Spades, Rank.King));
+
+    ComputerBrain brain = new ComputerBrain(hand, board, 2, BET, 21);
+    brain.calculateBet(0, 500);
+    int explored = 0;
+    for (PokerNode child : brain.getRoot().getChildren()) {
+      if (child.getState().getVisit() >= 2) {
+        assertFalse(child.getChildren().isEmpty());
+        explored++;
+      }
+    }
+    assertTrue(explored > 0);
+  }
+
+  @Test
+  public void testDeadline() {
+    hand.add(new Card(Suit.Clubs, Rank.Nine));
+    hand.add(new Card(Suit.Diamonds, Rank.Ten));
+    board.add(new Card(Suit.Hearts, Rank.Jack));
+    board.add(new Card(Suit.Spades, Rank.Four));
+    board.add(new Card(Suit.Spades, Rank.King));
+
+    long budget = TimeUnit.MILLISECONDS.toNanos(20);
+    ComputerBrain brain = new ComputerBrain(hand, board, 2, BET, 21);
+    brain.calculateBet(budget, 0);
+    assertTrue(brain.getIterations() > 0);
+    assertTrue(brain.getElapsedNanos() >= budget);
+    assertTrue(brain.getElapsedNanos() < budget * 5);
+  }
+
+  @Test
+  public void testRootParallel() {
+    hand.add(new Card(Suit.Clubs, Rank.Ace));
+    hand.add(new Card(Suit.Diamonds, Rank.Ace));
+    board.add(new Card(Suit.Hearts, Rank.Ace));
+    board.add(new Card(Suit.Spades, Rank.Ace));
+    board.add(new Card(Suit.Spades, Rank.King));
+
+    ComputerBrain brain = new ComputerBrain(hand, board, 2, BET, 22);
+    int result = brain.calculateBet(0, 2003, 4);
+    assertEquals(2003, brain.getIterations());
+    assertTrue(result > BET * 5);
+  }
+
+  @Test
+  public void testTreeParallel() {
+    hand.add(new Card(Suit.Clubs, Rank.Ace));
+    hand.add(new Card(Suit.Diamonds, Rank.Ace));
+    board.add(new Card(Suit.Hearts, Rank.Ace));
+    board.add(new Card(Suit.Spades, Rank.Ace));
+    board.add(new Card(Suit.Spades, Rank.King));
+
+    ComputerBrain brain = new ComputerBrain(hand, board, 2, BET, 23);
+    int result = brain.calculateBet(0, 2003, 4, ComputerBrain.Parallelism.TREE);
+    assertEquals(2003, brain.getIterations());
+    assertTrue(result > BET * 5);
+  }
+
+  @Test
+  public void testCompactTree() {
+    hand.add(new Card(Suit.Clubs, Rank.Ace));
+    hand.add(new Card(Suit.Diamonds, Rank.Ace));
+    board.add(new Card(Suit.Hearts, Rank.Ace));
+    board.add(new Card(Suit.Spades, Rank.Ace));
+    board.add(new Card(Suit.Spades, Rank.King));
+
+    ComputerBrain brain = new ComputerBrain(hand, board, 2, BET, 24);
+    int result = brain.calculateBet(new SearchTree(), 0, ComputerBrain.SAMPLES);
+    assertEquals(ComputerBrain.SAMPLES, brain.getIterations());
+    assertTrue(result > BET * 5);
+  }
+
+  @Test
+  public void testCompactRootParallel() {
+    hand.add(new Card(Suit.Clubs, Rank.Nine));
+    hand.add(new Card(Suit.Diamonds, Rank.Ten));
+    board.add(new Card(Suit.Hearts, Rank.Jack));
+    board.add(new Card(Suit.Spades, Rank.Four));
+    board.add(new Card(Suit.Spades, Rank.King));
+
+    SearchTree[] trees = {new SearchTree(), new SearchTree(), new SearchTree()};
+    ComputerBrain brain = new ComputerBrain(hand, board, 2, BET, 28);
+    brain.calculateBet(trees, 0, 2003);
+    assertEquals(2003, brain.getIterations());
+    for (SearchTree tree : trees) {
+      assertTrue(tree.getVisit(SearchTree.ROOT) >= 667);
+    }
+
+    Card turn = trees[0].getCard(trees[0].getBestChild(SearchTree.ROOT));
+    assertTrue(brain.advance(turn));
+    for (SearchTree tree : trees) {
+      assertEquals(turn, tree.getCard(SearchTree.ROOT));
+    }
+    brain.calculateBet(trees, 0, 300);
+    assertEquals(300, brain.getIterations());
+  }
+
+  @Test
+  public void testAdvance() {
+    hand.add(new Card(Suit.Clubs, Rank.Nine));
+    hand.add(new Card(Suit.Diamonds, Rank.Ten));
+    board.add(new Card(Suit.Hearts, Rank.Jack));
+    board.add(new Card(Suit.Spades, Rank.Four));
+    board.add(new Card(Suit.Spades, Rank.King));
+
+    SearchTree tree = new SearchTree();
+    ComputerBrain brain = new ComputerBrain(hand, board, 1, BET, 25);
+    brain.calculateBet(tree, 0, 500);
+    brain.calculateBet(tree, 0, 500);
+    assertEquals(1000, tree.getVisit(SearchTree.ROOT));
+
+    Card turn = tree.getCard(tree.getBestChild(SearchTree.ROOT));
+    int kept = tree.getVisit(tree.getBestChild(SearchTree.ROOT));
+    assertTrue(brain.advance(turn));
+    brain.calculateBet(tree, 0, 500);
+    assertEquals(kept + 500, tree.getVisit(SearchTree.ROOT));
+
+    assertFalse(brain.advance(new Card(Suit.Clubs, Rank.Nine)));
+  }
+
+  @Test
+  public void testMatches() {
+    hand.add(new Card(Suit.Clubs, Rank.Nine));
+    hand.add(new Card(Suit.Diamonds, Rank.Ten));
+    board.add(new Card(Suit.Hearts, Rank.Jack));
+    board.add(new Card(Suit.Spades, Rank.Four));
+    board.add(new Card(Suit.Spades, Rank.King));
+
+    SearchTree tree = new SearchTree();
+    ComputerBrain brain = new ComputerBrain(hand, board, 2, BET, 26);
+    assertTrue(brain.matches(board, 2));
+    assertFalse(brain.matches(board, 1));
+
+    brain.calculateBet(tree, 0, 500);
+    Card turn = tree.getCard(tree.getBestChild(SearchTree.ROOT));
+    assertTrue(brain.advance(turn));
+    assertFalse(brain.matches(board, 2));
+    board.add(turn);
+    assertTrue(brain.matches(board, 2));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAdvancedObjectTree() {
+    hand.add(new Card(Suit.Clubs, Rank.Nine));
+    hand.add(new Card(Suit.Diamonds, Rank.Ten));
+    board.add(new Card(Suit.Hearts, Rank.Jack));
+    board.add(new Card(Suit.Spades, Rank.Four));
+    board.add(new Card(Suit.Spades, Rank.King));
+
+    SearchTree tree = new SearchTree();
+    ComputerBrain brain = new ComputerBrain(hand, board, 1, BET, 27);
+    brain.calculateBet(tree, 0, 500);
+    brain.advance(tree.getCard(tree.getBestChild(SearchTree.ROOT)));
+    brain.calculateBet(0, 500);
+  }
+}
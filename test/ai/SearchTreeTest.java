@@ -0,0 +1,127 @@
+package ai;
+
+import org.junit.Test;
+
+import game.deck.Card;
+import game.deck.Rank;
+import game.deck.Suit;
+import game.poker.player.decision.SearchTree;
+import game.util.RandomSource;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+/**
+ * Tests for the compact Monte Carlo Tree.
+ */
+public class SearchTreeTest {
+  private static final long HAND = Card.of(Suit.Clubs, Rank.Ace).getMask()
+          | Card.of(Suit.Diamonds, Rank.Ace).getMask();
+  private static final long BOARD = Card.of(Suit.Hearts, Rank.Ace).getMask()
+          | Card.of(Suit.Spades, Rank.Ace).getMask() | Card.of(Suit.Spades, Rank.King).getMask();
+  private static final long[] OPPONENTS = {Card.of(Suit.Hearts, Rank.Two).getMask()
+          | Card.of(Suit.Hearts, Rank.Seven).getMask()};
+
+  @Test
+  public void testIterate() {
+    SearchTree tree = new SearchTree();
+    tree.reset(HAND, BOARD, OPPONENTS, 0);
+    RandomSource rand = RandomSource.seeded(24);
+    for (int i = 0; i < 500; i++) {
+      tree.iterate(rand);
+    }
+
+    assertEquals(500, tree.getVisit(SearchTree.ROOT));
+    assertEquals(1.0, tree.calculateScore(SearchTree.ROOT));
+
+    int best = tree.getBestChild(SearchTree.ROOT);
+    assertTrue(best > SearchTree.ROOT);
+    long drawn = tree.getCard(best).getMask();
+    assertEquals(0, drawn & (HAND | BOARD | OPPONENTS[0]));
+  }
+
+  @Test
+  public void testChildren() {
+    SearchTree tree = new SearchTree();
+    tree.reset(HAND, BOARD, OPPONENTS, Card.of(Suit.Clubs, Rank.Two).getMask());
+    tree.iterate(RandomSource.seeded(24));
+
+    assertEquals(1 + 52 - 8, tree.size());
+    assertEquals(null, tree.getCard(SearchTree.ROOT));
+  }
+
+  @Test
+  public void testReuse() {
+    SearchTree tree = new SearchTree();
+    RandomSource rand = RandomSource.seeded(24);
+    tree.reset(HAND, BOARD, OPPONENTS, 0);
+    for (int i = 0; i < 2000; i++) {
+      tree.iterate(rand);
+    }
+    int capacity = tree.getCapacity();
+
+    tree.reset(HAND, BOARD, OPPONENTS, 0);
+    assertEquals(1, tree.size());
+    assertEquals(0, tree.getVisit(SearchTree.ROOT));
+    for (int i = 0; i < 2000; i++) {
+      tree.iterate(rand);
+    }
+    assertEquals(capacity, tree.getCapacity());
+  }
+
+  @Test
+  public void testPromote() {
+    SearchTree tree = new SearchTree();
+    RandomSource rand = RandomSource.seeded(25);
+    tree.reset(HAND, BOARD, OPPONENTS, 0);
+    for (int i = 0; i < 3000; i++) {
+      tree.iterate(rand);
+    }
+
+    int best = tree.getBestChild(SearchTree.ROOT);
+    Card card = tree.getCard(best);
+    int visits = tree.getVisit(best);
+    int size = tree.size();
+
+    assertFalse(tree.promote(Card.of(Suit.Clubs, Rank.Ace)));
+    assertEquals(size, tree.size());
+
+    assertTrue(tree.promote(card));
+    assertEquals(card, tree.getCard(SearchTree.ROOT));
+    assertEquals(visits, tree.getVisit(SearchTree.ROOT));
+    assertTrue(tree.size() < size);
+
+    int child = tree.getBestChild(SearchTree.ROOT);
+    assertTrue(child > SearchTree.ROOT);
+    assertTrue(tree.getCard(child) != card);
+    for (int i = 0; i < 100; i++) {
+      tree.iterate(rand);
+    }
+    assertEquals(visits + 100, tree.getVisit(SearchTree.ROOT));
+  }
+
+  @Test
+  public void testPromoteReuse() {
+    SearchTree tree = new SearchTree();
+    RandomSource rand = RandomSource.seeded(26);
+    int capacity = 0;
+    for (int hand = 0; hand < 4; hand++) {
+      tree.reset(HAND, BOARD, OPPONENTS, 0);
+      for (int street = 0; street < 2; street++) {
+        for (int i = 0; i < 3000; i++) {
+          tree.iterate(rand);
+        }
+
+        int best = tree.getBestChild(SearchTree.ROOT);
+        int visits = tree.getVisit(best);
+        assertTrue(tree.promote(tree.getCard(best)));
+        assertEquals(visits, tree.getVisit(SearchTree.ROOT));
+      }
+
+      tree.iterate(rand);
+      assertTrue(tree.getCapacity() >= capacity);
+      capacity = tree.getCapacity();
+    }
+  }
+}
@@ -0,0 +1,227 @@
+package ranking;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import game.deck.Card;
+import game.deck.Deck;
+import game.deck.Hand;
+import game.deck.Rank;
+import game.deck.ShuffleSupply;
+import game.deck.ArrayDeck;
+import game.deck.Suit;
+import game.util.RandomSource;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+
+/**
+ * Tests for an array backed deck of playing cards.
+ */
+public class ArrayDeckTest {
+  private Deck deck;
+
+  @Before
+  public void init() {
+    this.deck = new ArrayDeck(52);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroDeal() {
+    List<Hand> zeroPlayer = deck.dealCards(0, 5);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void excessDeal() {
+    List<Hand> excess = deck.dealCards(5, 11);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void lackDraw() {
+    deck.burnCards(52);
+    Card noCard = deck.drawCard();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void lackBurn() {
+    deck.burnCards(52);
+    deck.burnCards(1);
+  }
+
+  @Test
+  public void testFormation() {
+    int spade = 0;
+    int club = 0;
+    int heart = 0;
+    int diamond = 0;
+    for (int i = 0; i < 52; i++) {
+      Card card = deck.drawCard();
+
+      switch(card.getSuit()) {
+        case Spades:
+          spade += 1;
+          break;
+        case Clubs:
+          club += 1;
+          break;
+        case Hearts:
+          heart += 1;
+          break;
+        case Diamonds:
+          diamond += 1;
+          break;
+        default:
+          throw new IllegalArgumentException("Invalid suit found");
+      }
+    }
+
+    assertEquals(13, spade);
+    assertEquals(13, club);
+    assertEquals(13, heart);
+    assertEquals(13, diamond);
+  }
+
+  @Test
+  public void testDeal() {
+    List<Hand> zeroHand = deck.dealCards(1, 0);
+    assertEquals(1, zeroHand.size());
+    for (Hand hand : zeroHand) {
+      assertEquals(0, hand.getCards().size());
+    }
+
+    List<Hand> singleHand = deck.dealCards(1, 1);
+    assertEquals(1, singleHand.size());
+    for (Hand hand : singleHand) {
+      assertEquals(1, hand.getCards().size());
+    }
+
+    List<Hand> multiHand = deck.dealCards(5, 10);
+    assertEquals(5, multiHand.size());
+    for (Hand hand : multiHand) {
+      assertEquals(10, hand.getCards().size());
+    }
+  }
+
+  @Test
+  public void testBurn() {
+    deck.burnCards(0);
+    assertEquals(52, deck.remainingCards());
+
+    deck.burnCards(-1);
+    assertEquals(52, deck.remainingCards());
+
+    deck.burnCards(1);
+    assertEquals(51, deck.remainingCards());
+
+    deck.burnCards(51);
+    assertEquals(0, deck.remainingCards());
+  }
+
+  @Test
+  public void testCanonicalCards() {
+    long seen = 0;
+    for (int i = 0; i < 52; i++) {
+      Card card = deck.drawCard();
+      assertSame(Card.of(card.getSuit(), Rank.values()[14 - card.getRank()]), card);
+      assertSame(Card.of(card.getIndex()), card);
+      assertEquals(1L << card.getIndex(), card.getMask());
+      seen |= card.getMask();
+    }
+
+    assertEquals((1L << 52) - 1, seen);
+    assertEquals(Card.of(Suit.Hearts, Rank.Ten), new Card(Suit.Hearts, Rank.Ten));
+    assertEquals(Card.of(Suit.Hearts, Rank.Ten).hashCode(),
+            new Card(Suit.Hearts, Rank.Ten).hashCode());
+  }
+
+  @Test
+  public void testRemoveKnown() {
+    List<Card> known = Arrays.asList(Card.of(Suit.Clubs, Rank.Ace), Card.of(Suit.Hearts, Rank.Two));
+    ArrayDeck partial = new ArrayDeck(known);
+    assertEquals(50, partial.remainingCards());
+    assertEquals(Card.maskOf(known), partial.getDeadMask());
+
+    partial.removeKnown(known);
+    assertEquals(50, partial.remainingCards());
+    for (int i = 0; i < 50; i++) {
+      assertFalse(known.contains(partial.drawCard()));
+    }
+
+    partial.shuffle();
+    assertEquals(52, partial.remainingCards());
+    assertEquals(0, partial.getDeadMask());
+  }
+
+  @Test
+  public void testStreamCards() {
+    List<Card> content = Arrays.asList(Card.of(Suit.Spades, Rank.Nine),
+            Card.of(Suit.Diamonds, Rank.King), Card.of(Suit.Clubs, Rank.Three));
+    deck.setStreamCards(content);
+
+    assertEquals(content, deck.allCards());
+    assertEquals(Card.of(Suit.Diamonds, Rank.King), deck.drawAtPosition(1));
+    assertEquals(2, deck.remainingCards());
+    assertFalse(deck.allCards().contains(Card.of(Suit.Diamonds, Rank.King)));
+  }
+
+  @Test
+  public void testFork() {
+    deck.burnCards(10);
+    List<Card> remaining = deck.allCards();
+
+    Deck fork = deck.fork();
+    assertEquals(remaining, fork.allCards());
+
+    Card drawn = fork.drawAtPosition(5);
+    assertEquals(42, deck.remainingCards());
+    assertEquals(remaining, deck.allCards());
+    assertEquals(41, fork.remainingCards());
+    assertFalse(fork.allCards().contains(drawn));
+
+    deck.drawCard();
+    assertEquals(41, fork.remainingCards());
+    assertFalse(fork.allCards().contains(drawn));
+  }
+
+  @Test
+  public void testShuffleSupply() throws InterruptedException {
+    try (ShuffleSupply supply = new ShuffleSupply(RandomSource.seeded(7), 4)) {
+      while (supply.getDepth() < 4) {
+        Thread.sleep(1);
+      }
+      assertEquals(4, supply.getDepth());
+
+      ArrayDeck supplied = new ArrayDeck(RandomSource.seeded(7), supply);
+      assertEquals(1, supply.getTaken());
+      List<Card> order = supplied.allCards();
+      assertEquals(52, new HashSet<>(order).size());
+      for (Card card : order) {
+        assertEquals(card, supplied.drawCard());
+      }
+    }
+  }
+
+  @Test
+  public void testShuffleSupplyStall() {
+    ShuffleSupply supply = new ShuffleSupply(RandomSource.seeded(7), 1);
+    supply.close();
+    int drained = 0;
+    while (supply.poll() != null) {
+      drained++;
+    }
+    assertTrue(drained <= 1);
+
+    long stalls = supply.getStalls();
+    ArrayDeck supplied = new ArrayDeck(RandomSource.seeded(7), supply);
+    assertEquals(stalls + 1, supply.getStalls());
+    assertEquals(52, new HashSet<>(supplied.dealCards(4, 13).stream()
+            .flatMap(hand -> hand.getCards().stream()).collect(Collectors.toList())).size());
+  }
+}
@@ -0,0 +1,75 @@
+package ranking;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import game.deck.Card;
+import game.deck.Hand;
+import game.deck.Rank;
+import game.deck.Suit;
+import game.poker.rules.EvaluationCache;
+import game.poker.rules.FindRank;
+import game.poker.rules.HandEvaluator;
+import game.poker.rules.HandRank;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertTrue;
+
+/**
+ * Tests for the evaluation cache.
+ */
+public class EvaluationCacheTest {
+
+  @Test
+  public void testHitsAndMisses() {
+    EvaluationCache cache = new EvaluationCache(64);
+    long cards = 0x1F;
+
+    assertEquals(HandEvaluator.evaluate(cards), cache.get(cards, HandEvaluator::evaluate));
+    assertEquals(HandEvaluator.evaluate(cards), cache.get(cards, mask -> -1));
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+
+    cache.clear();
+    assertEquals(-1, cache.get(cards, mask -> -1));
+    assertEquals(2, cache.getMisses());
+  }
+
+  @Test
+  public void testBounded() {
+    EvaluationCache cache = new EvaluationCache(100);
+    assertEquals(128, cache.getCapacity());
+
+    Random rand = new Random(3);
+    for (int i = 0; i < 5000; i++) {
+      long cards = 0;
+      while (Long.bitCount(cards) < HandEvaluator.MAX_CARDS) {
+        cards |= 1L << rand.nextInt(52);
+      }
+
+      assertEquals(HandEvaluator.evaluate(cards), cache.get(cards, HandEvaluator::evaluate));
+    }
+
+    assertTrue(cache.getEvictions() >= cache.getMisses() - cache.getCapacity());
+  }
+
+  @Test
+  public void testFindRank() {
+    FindRank finder = new FindRank(new EvaluationCache());
+    Hand hand = new Hand(new Card(Suit.Spades, Rank.Ace), new Card(Suit.Hearts, Rank.Ace));
+    Hand board = new Hand(new Card(Suit.Clubs, Rank.Ace), new Card(Suit.Clubs, Rank.Two),
+            new Card(Suit.Diamonds, Rank.Two));
+
+    assertEquals(HandRank.Full_House, finder.getRank(hand, board.getCards()));
+    assertEquals(HandRank.Full_House, finder.getRank(hand, board.getCards()));
+    assertEquals(1, finder.getCache().getHits());
+    assertNull(FindRank.getInstance().getCache());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCapacity() {
+    new EvaluationCache(0);
+  }
+}
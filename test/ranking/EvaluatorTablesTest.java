@@ -0,0 +1,87 @@
+package ranking;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import game.poker.rules.EvaluatorTables;
+import game.poker.rules.HandEvaluator;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Tests for writing and loading evaluator table files.
+ */
+public class EvaluatorTablesTest {
+  private Path file;
+  private EvaluatorTables generated;
+
+  @Before
+  public void init() throws IOException {
+    this.file = Files.createTempFile("evaluator", ".tables");
+    this.generated = EvaluatorTables.generate();
+    generated.write(file);
+  }
+
+  @After
+  public void cleanup() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    Random rand = new Random(9);
+    long[] hands = new long[10000];
+    for (int i = 0; i < hands.length; i++) {
+      while (Long.bitCount(hands[i]) < HandEvaluator.MAX_CARDS) {
+        hands[i] |= 1L << rand.nextInt(52);
+      }
+    }
+
+    EvaluatorTables loaded = EvaluatorTables.load(file);
+    for (long hand : hands) {
+      assertEquals(HandEvaluator.evaluate(hand), generated.evaluate(hand));
+      assertEquals(generated.evaluate(hand), loaded.evaluate(hand));
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testTablesFixedOnUse() {
+    HandEvaluator.evaluate(0x1FL);
+    HandEvaluator.useTables(generated);
+  }
+
+  @Test(expected = IOException.class)
+  public void testCorruptFile() throws IOException {
+    byte[] contents = Files.readAllBytes(file);
+    contents[contents.length / 2] ^= 1;
+    Files.write(file, contents, StandardOpenOption.TRUNCATE_EXISTING);
+
+    EvaluatorTables.load(file);
+  }
+
+  @Test(expected = IOException.class)
+  public void testTruncatedFile() throws IOException {
+    byte[] contents = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(contents, contents.length - 4),
+            StandardOpenOption.TRUNCATE_EXISTING);
+
+    EvaluatorTables.load(file);
+  }
+
+  @Test(expected = IOException.class)
+  public void testOtherByteOrder() throws IOException {
+    byte[] contents = Files.readAllBytes(file);
+    contents[2 * Integer.BYTES + Integer.BYTES - 1] ^= 1;
+    Files.write(file, contents, StandardOpenOption.TRUNCATE_EXISTING);
+
+    EvaluatorTables.load(file);
+  }
+}
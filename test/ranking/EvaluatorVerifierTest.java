@@ -0,0 +1,39 @@
+package ranking;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import game.poker.rules.EvaluatorVerifier;
+import game.poker.rules.HandRank;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Tests for the exhaustive evaluator verification on reduced decks.
+ */
+public class EvaluatorVerifierTest {
+
+  @Test
+  public void testReducedDeck() {
+    // Nine through ace of clubs and hearts, with the twos through fives of spades.
+    long deck = 0x1F80L | (0x1F80L << 26) | (0xFL << 39);
+    EvaluatorVerifier.Tally tally = new EvaluatorVerifier(deck, 1).run(new ForkJoinPool(2));
+
+    long total = 0;
+    for (HandRank rank : HandRank.values()) {
+      total += tally.getCount(rank);
+    }
+
+    assertEquals(11440, tally.getHands());
+    assertEquals(tally.getHands(), total);
+    assertEquals(tally.getHands(), tally.getReferenced());
+    assertEquals(0, tally.getMismatches());
+    assertEquals(0, tally.getCount(HandRank.Four_Kind));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDeckTooSmall() {
+    new EvaluatorVerifier(0x3F, 1);
+  }
+}
@@ -0,0 +1,263 @@
+package ranking;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import game.deck.Card;
+import game.deck.Hand;
+import game.deck.Rank;
+import game.deck.Suit;
+import game.poker.rules.BestFive;
+import game.poker.rules.BoardContext;
+import game.poker.rules.BulkEvaluator;
+import game.poker.rules.FindRank;
+import game.poker.rules.HandEvaluator;
+import game.poker.rules.HandRank;
+import game.poker.rules.IncrementalEvaluator;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+/**
+ * Tests for the lookup table hand evaluator.
+ */
+public class HandEvaluatorTest {
+  private List<Card> board;
+
+  @Before
+  public void init() {
+    this.board = new ArrayList<>();
+    board.add(new Card(Suit.Hearts, Rank.Ace));
+    board.add(new Card(Suit.Spades, Rank.Nine));
+    board.add(new Card(Suit.Hearts, Rank.Five));
+    board.add(new Card(Suit.Clubs, Rank.Four));
+    board.add(new Card(Suit.Hearts, Rank.Jack));
+  }
+
+  private int strength(Card... cards) {
+    return HandEvaluator.evaluate(new Hand(cards), board);
+  }
+
+  @Test
+  public void testCategories() {
+    assertEquals(HandRank.High_Card, HandRank.fromStrength(strength(
+            new Card(Suit.Clubs, Rank.King), new Card(Suit.Diamonds, Rank.Seven))));
+    assertEquals(HandRank.Pair, HandRank.fromStrength(strength(
+            new Card(Suit.Clubs, Rank.Ace), new Card(Suit.Diamonds, Rank.Seven))));
+    assertEquals(HandRank.Two_Pair, HandRank.fromStrength(strength(
+            new Card(Suit.Clubs, Rank.Ace), new Card(Suit.Diamonds, Rank.Nine))));
+    assertEquals(HandRank.Three_Kind, HandRank.fromStrength(strength(
+            new Card(Suit.Clubs, Rank.Nine), new Card(Suit.Diamonds, Rank.Nine))));
+    assertEquals(HandRank.Straight, HandRank.fromStrength(strength(
+            new Card(Suit.Clubs, Rank.Two), new Card(Suit.Diamonds, Rank.Three))));
+    assertEquals(HandRank.Flush, HandRank.fromStrength(strength(
+            new Card(Suit.Hearts, Rank.Two), new Card(Suit.Hearts, Rank.King))));
+
+    board.set(1, new Card(Suit.Diamonds, Rank.Four));
+    assertEquals(HandRank.Full_House, HandRank.fromStrength(strength(
+            new Card(Suit.Clubs, Rank.Jack), new Card(Suit.Diamonds, Rank.Jack))));
+    assertEquals(HandRank.Four_Kind, HandRank.fromStrength(strength(
+            new Card(Suit.Hearts, Rank.Four), new Card(Suit.Spades, Rank.Four))));
+  }
+
+  @Test
+  public void testStraightFlushes() {
+    board.clear();
+    board.add(new Card(Suit.Spades, Rank.Ace));
+    board.add(new Card(Suit.Spades, Rank.Two));
+    board.add(new Card(Suit.Spades, Rank.Three));
+    board.add(new Card(Suit.Spades, Rank.Four));
+    board.add(new Card(Suit.Diamonds, Rank.King));
+
+    int wheel = strength(new Card(Suit.Spades, Rank.Five), new Card(Suit.Clubs, Rank.Six));
+    int sixHigh = strength(new Card(Suit.Spades, Rank.Five), new Card(Suit.Spades, Rank.Six));
+    assertEquals(HandRank.Straight_Flush, HandRank.fromStrength(wheel));
+    assertTrue(sixHigh > wheel);
+
+    board.clear();
+    board.add(new Card(Suit.Clubs, Rank.Ace));
+    board.add(new Card(Suit.Clubs, Rank.King));
+    board.add(new Card(Suit.Clubs, Rank.Queen));
+    int royal = strength(new Card(Suit.Clubs, Rank.Jack), new Card(Suit.Clubs, Rank.Ten));
+    assertEquals(HandRank.Royal_Flush, HandRank.fromStrength(royal));
+  }
+
+  @Test
+  public void testKickers() {
+    int kingKicker = strength(new Card(Suit.Clubs, Rank.Ace), new Card(Suit.Diamonds, Rank.King));
+    int queenKicker = strength(new Card(Suit.Spades, Rank.Ace), new Card(Suit.Diamonds, Rank.Queen));
+    assertTrue(kingKicker > queenKicker);
+
+    int counterfeit = strength(new Card(Suit.Clubs, Rank.Two), new Card(Suit.Diamonds, Rank.Eight));
+    int other = strength(new Card(Suit.Clubs, Rank.Three), new Card(Suit.Diamonds, Rank.Eight));
+    assertEquals(counterfeit, other);
+  }
+
+  @Test
+  public void testFewCards() {
+    board.clear();
+    int pair = strength(new Card(Suit.Clubs, Rank.Seven), new Card(Suit.Diamonds, Rank.Seven));
+    int high = strength(new Card(Suit.Clubs, Rank.Ace), new Card(Suit.Diamonds, Rank.King));
+    assertEquals(HandRank.Pair, HandRank.fromStrength(pair));
+    assertEquals(HandRank.High_Card, HandRank.fromStrength(high));
+    assertTrue(pair > high);
+  }
+
+  @Test
+  public void testMatchesFindRank() {
+    Hand base = new Hand(new Card(Suit.Hearts, Rank.Two), new Card(Suit.Hearts, Rank.Three));
+    assertEquals(HandRank.Flush, FindRank.getInstance().getRank(base, board));
+
+    Hand ranked = new Hand(new ArrayList<>(base.getCards()));
+    board.forEach(ranked::addCard);
+    assertEquals(new FindRank(ranked).getRank(), FindRank.getInstance().getRank(base, board));
+  }
+
+  @Test
+  public void testBoardContext() {
+    for (int size = 3; size <= 5; size++) {
+      List<Card> partial = board.subList(0, size);
+      BoardContext context = new BoardContext(partial);
+      long cards = Card.maskOf(partial);
+
+      for (int first = 0; first < 52; first++) {
+        for (int second = first + 1; second < 52; second++) {
+          long hole = (1L << first) | (1L << second);
+          if ((hole & cards) == 0) {
+            assertEquals(HandEvaluator.evaluate(cards | hole), context.evaluate(first, second));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testIncremental() {
+    IncrementalEvaluator running = new IncrementalEvaluator(board);
+    assertEquals(Card.maskOf(board), running.getCards());
+    assertEquals(HandEvaluator.evaluate(running.getCards()), running.strength());
+
+    Random rand = new Random(52);
+    for (int i = 0; i < 10000; i++) {
+      int index = rand.nextInt(52);
+      if ((running.getCards() & (1L << index)) != 0) {
+        running.remove(index);
+      }
+      else if (running.size() < HandEvaluator.MAX_CARDS) {
+        running.add(index);
+      }
+
+      assertEquals(HandEvaluator.evaluate(running.getCards()), running.strength());
+    }
+  }
+
+  @Test
+  public void testBestFive() {
+    int[] buffer = new int[BestFive.SIZE];
+    long cards = Card.maskOf(board) | Card.maskOf(new Hand(
+            new Card(Suit.Clubs, Rank.Two), new Card(Suit.Diamonds, Rank.Three)).getCards());
+
+    assertEquals(5, BestFive.extract(cards, buffer));
+    assertEquals(5, Card.of(buffer[0]).getRank());
+    assertEquals(14, Card.of(buffer[4]).getRank());
+
+    Random rand = new Random(52);
+    for (int i = 0; i < 10000; i++) {
+      long hand = 0;
+      while (Long.bitCount(hand) < HandEvaluator.MAX_CARDS) {
+        hand |= 1L << rand.nextInt(52);
+      }
+
+      long best = 0;
+      for (int j = 0; j < BestFive.extract(hand, buffer); j++) {
+        best |= 1L << buffer[j];
+      }
+
+      assertEquals(5, Long.bitCount(best));
+      assertEquals(best, best & hand);
+      assertEquals(HandEvaluator.evaluate(hand), HandEvaluator.evaluate(best));
+    }
+  }
+
+  @Test
+  public void testBulk() {
+    Random rand = new Random(11);
+    long[] hands = new long[1000 + BulkEvaluator.LANES / 2];
+    for (int i = 0; i < hands.length; i++) {
+      while (Long.bitCount(hands[i]) < HandEvaluator.MAX_CARDS - i % 3) {
+        hands[i] |= 1L << rand.nextInt(52);
+      }
+    }
+
+    int[] strengths = new int[hands.length];
+    int[] parallel = new int[hands.length];
+    BulkEvaluator.evaluate(hands, strengths);
+    BulkEvaluator.parallelEvaluate(hands, parallel);
+    for (int i = 0; i < hands.length; i++) {
+      assertEquals(HandEvaluator.evaluate(hands[i]), strengths[i]);
+      assertEquals(strengths[i], parallel[i]);
+    }
+
+    long cards = Card.maskOf(board);
+    long[] holdings = {1L << 1 | 1L << 40, 1L << 27 | 1L << 29, 1L << 50 | 1L << 51};
+    int[] against = new int[holdings.length];
+    BulkEvaluator.evaluateAgainst(cards, holdings, against);
+    for (int i = 0; i < holdings.length; i++) {
+      assertEquals(HandEvaluator.evaluate(cards | holdings[i]), against[i]);
+    }
+  }
+
+  @Test
+  public void testSharedInstance() throws InterruptedException {
+    FindRank shared = FindRank.getInstance();
+    List<Hand> hands = new ArrayList<>();
+    List<HandRank> expected = new ArrayList<>();
+
+    Random rand = new Random(7);
+    for (int i = 0; i < 500; i++) {
+      long cards = 0;
+      while (Long.bitCount(cards) < 2) {
+        long card = 1L << rand.nextInt(52);
+        cards |= (card & Card.maskOf(board)) == 0 ? card : 0;
+      }
+
+      Hand hand = new Hand(Card.of(Long.numberOfTrailingZeros(cards)),
+              Card.of(63 - Long.numberOfLeadingZeros(cards)));
+      hands.add(hand);
+      expected.add(shared.getRank(hand, board));
+    }
+
+    boolean[] failed = new boolean[1];
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] = new Thread(() -> {
+        for (int i = 0; i < hands.size(); i++) {
+          if (shared.getRank(hands.get(i), board) != expected.get(i)) {
+            failed[0] = true;
+          }
+        }
+      });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertTrue(!failed[0]);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testSharedInstanceHasNoHand() {
+    FindRank.getInstance().getRank();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManyCards() {
+    strength(new Card(Suit.Clubs, Rank.Two), new Card(Suit.Clubs, Rank.Three),
+            new Card(Suit.Clubs, Rank.Five));
+  }
+}
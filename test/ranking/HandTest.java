@@ -0,0 +1,58 @@
+package ranking;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import game.deck.Card;
+import game.deck.Hand;
+import game.deck.Rank;
+import game.deck.Suit;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Tests for a hand of playing cards.
+ */
+public class HandTest {
+
+  @Test
+  public void testCounts() {
+    Hand hand = new Hand(Card.of(Suit.Clubs, Rank.Ace), Card.of(Suit.Hearts, Rank.Ace));
+    hand.addCard(Card.of(Suit.Hearts, Rank.Five));
+
+    assertEquals(3, hand.size());
+    assertEquals(2, hand.countRank(14));
+    assertEquals(1, hand.countRank(5));
+    assertEquals(0, hand.countRank(9));
+    assertEquals(2, hand.countSuit(Suit.Hearts));
+    assertEquals(0, hand.countSuit(Suit.Spades));
+    assertEquals(Card.maskOf(hand.getCards()), hand.getMask());
+
+    assertEquals(Integer.valueOf(2), hand.allValues().get(14));
+    assertEquals(Integer.valueOf(2), hand.allSuits().get(Suit.Hearts));
+    assertEquals(null, hand.allSuits().get(Suit.Spades));
+  }
+
+  @Test
+  public void testGrowAndCopy() {
+    Hand hand = new Hand();
+    for (int i = 0; i < 20; i++) {
+      hand.addCard(Card.of(i));
+    }
+
+    Hand copy = new Hand(hand);
+    hand.addCard(Card.of(20));
+
+    List<Card> cards = copy.getCards();
+    assertEquals(20, cards.size());
+    assertEquals(Card.of(19), cards.get(19));
+    assertEquals(21, hand.getCards().size());
+    assertEquals((1L << 20) - 1, copy.getMask());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testReadOnlyView() {
+    new Hand(Card.of(0)).getCards().add(Card.of(1));
+  }
+}
@@ -0,0 +1,68 @@
+package ranking;
+
+import org.junit.Test;
+
+import game.deck.Card;
+import game.deck.Hand;
+import game.deck.Rank;
+import game.deck.Suit;
+import game.poker.rules.HandRank;
+import game.poker.rules.HandValue;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+/**
+ * Tests for packed hand values and their kickers.
+ */
+public class HandValueTest {
+
+  @Test
+  public void testKickers() {
+    HandValue value = HandValue.of(new Hand(
+            new Card(Suit.Clubs, Rank.Nine), new Card(Suit.Spades, Rank.Nine),
+            new Card(Suit.Hearts, Rank.Two), new Card(Suit.Diamonds, Rank.King),
+            new Card(Suit.Clubs, Rank.Six), new Card(Suit.Spades, Rank.Four),
+            new Card(Suit.Hearts, Rank.Jack)));
+
+    assertEquals(HandRank.Pair, value.getRank());
+    assertEquals(9, value.getKicker(0));
+    assertEquals(13, value.getKicker(1));
+    assertEquals(11, value.getKicker(2));
+    assertEquals(6, value.getKicker(3));
+    assertEquals(0, value.getKicker(4));
+  }
+
+  @Test
+  public void testTieBreak() {
+    HandValue kingKicker = HandValue.of(new Hand(
+            new Card(Suit.Clubs, Rank.Ace), new Card(Suit.Spades, Rank.Ace),
+            new Card(Suit.Hearts, Rank.King), new Card(Suit.Diamonds, Rank.Four),
+            new Card(Suit.Clubs, Rank.Three)));
+    HandValue queenKicker = HandValue.of(new Hand(
+            new Card(Suit.Hearts, Rank.Ace), new Card(Suit.Diamonds, Rank.Ace),
+            new Card(Suit.Spades, Rank.Queen), new Card(Suit.Spades, Rank.Jack),
+            new Card(Suit.Hearts, Rank.Ten)));
+    HandValue sameKicker = HandValue.of(new Hand(
+            new Card(Suit.Hearts, Rank.Ace), new Card(Suit.Diamonds, Rank.Ace),
+            new Card(Suit.Spades, Rank.King), new Card(Suit.Spades, Rank.Four),
+            new Card(Suit.Hearts, Rank.Three)));
+
+    assertTrue(kingKicker.compareTo(queenKicker) > 0);
+    assertEquals(kingKicker, sameKicker);
+  }
+
+  @Test
+  public void testLargeHand() {
+    HandValue value = HandValue.of(new Hand(
+            new Card(Suit.Clubs, Rank.King), new Card(Suit.Clubs, Rank.Jack),
+            new Card(Suit.Clubs, Rank.Nine), new Card(Suit.Clubs, Rank.Four),
+            new Card(Suit.Clubs, Rank.Two), new Card(Suit.Hearts, Rank.Ten),
+            new Card(Suit.Hearts, Rank.Eight), new Card(Suit.Hearts, Rank.Six),
+            new Card(Suit.Hearts, Rank.Five), new Card(Suit.Hearts, Rank.Three)));
+
+    assertEquals(HandRank.Flush, value.getRank());
+    assertEquals(13, value.getKicker(0));
+    assertEquals(2, value.getKicker(4));
+  }
+}
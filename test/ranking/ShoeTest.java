@@ -0,0 +1,113 @@
+package ranking;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import game.deck.Card;
+import game.deck.Deck;
+import game.deck.Rank;
+import game.deck.Shoe;
+import game.deck.Suit;
+import game.util.RandomSource;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+/**
+ * Tests for a shoe of several decks.
+ */
+public class ShoeTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void tooManyDecks() {
+    new Shoe(9);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void noPenetration() {
+    new Shoe(2, 0, RandomSource.seeded(1));
+  }
+
+  @Test
+  public void testComposition() {
+    Shoe shoe = new Shoe(6, 0.75, RandomSource.seeded(20));
+    assertEquals(312, shoe.remainingCards());
+    assertEquals(234, shoe.getCutCard());
+    for (int rank = 2; rank <= 14; rank++) {
+      assertEquals(24, shoe.countRank(rank));
+    }
+
+    int[] counts = new int[Card.DECK_SIZE];
+    for (Card card : shoe.allCards()) {
+      counts[card.getIndex()]++;
+    }
+    for (int count : counts) {
+      assertEquals(6, count);
+    }
+
+    Card drawn = shoe.drawCard();
+    assertEquals(311, shoe.remainingCards());
+    assertEquals(23, shoe.countRank(drawn.getRank()));
+    assertEquals(5, shoe.countCard(drawn));
+  }
+
+  @Test
+  public void testCutCard() {
+    Shoe shoe = new Shoe(2, 0.5, RandomSource.seeded(20));
+    shoe.burnCards(51);
+    shoe.shuffle();
+    assertEquals(53, shoe.remainingCards());
+    assertFalse(shoe.isCutReached());
+
+    shoe.drawCard();
+    assertTrue(shoe.isCutReached());
+    shoe.shuffle();
+    assertEquals(104, shoe.remainingCards());
+    assertFalse(shoe.isCutReached());
+  }
+
+  @Test
+  public void testRemoveKnown() {
+    Card ace = Card.of(Suit.Spades, Rank.Ace);
+    Shoe shoe = new Shoe(2, 1, RandomSource.seeded(20));
+    shoe.removeKnown(Arrays.asList(ace, ace, ace));
+
+    assertEquals(102, shoe.remainingCards());
+    assertEquals(0, shoe.countCard(ace));
+    assertEquals(6, shoe.countRank(14));
+    assertFalse(shoe.allCards().contains(ace));
+  }
+
+  @Test
+  public void testStreamCards() {
+    List<Card> content = Arrays.asList(Card.of(Suit.Hearts, Rank.Two),
+            Card.of(Suit.Hearts, Rank.Two), Card.of(Suit.Clubs, Rank.Ten));
+    Shoe shoe = new Shoe(1);
+    shoe.setStreamCards(content);
+
+    assertEquals(content, shoe.allCards());
+    assertEquals(2, shoe.countRank(2));
+    assertEquals(Card.of(Suit.Clubs, Rank.Ten), shoe.drawAtPosition(2));
+    assertEquals(0, shoe.countRank(10));
+  }
+
+  @Test
+  public void testFork() {
+    Shoe shoe = new Shoe(4, 0.8, RandomSource.seeded(20));
+    shoe.burnCards(30);
+    List<Card> remaining = Arrays.asList(shoe.allCards().toArray(new Card[0]));
+
+    Deck fork = shoe.fork();
+    Card drawn = fork.drawAtPosition(10);
+    assertEquals(remaining, shoe.allCards());
+    assertEquals(remaining.get(10), drawn);
+    assertEquals(remaining.size() - 1, fork.remainingCards());
+
+    shoe.drawCard();
+    assertEquals(remaining.size() - 1, fork.remainingCards());
+    assertTrue(fork.allCards().contains(remaining.get(0)));
+  }
+}
@@ -8,10 +8,13 @@ import java.util.List;
 import game.deck.Card;
 import game.deck.Deck;
 import game.deck.Hand;
+import game.deck.Rank;
 import game.deck.StandardDeck;
 import game.deck.Suit;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertSame;
 
 /**
  * Tests for a standard deck of playing cards.
@@ -114,4 +117,40 @@ public class StandardDeckTest {
     deck.burnCards(51);
     assertEquals(0, deck.remainingCards());
   }
+
+  @Test
+  public void testCanonicalCards() {
+    long seen = 0;
+    for (int i = 0; i < 52; i++) {
+      Card card = deck.drawCard();
+      assertSame(Card.of(card.getSuit(), Rank.values()[14 - card.getRank()]), card);
+      assertSame(Card.of(card.getIndex()), card);
+      assertEquals(1L << card.getIndex(), card.getMask());
+      seen |= card.getMask();
+    }
+
+    assertEquals((1L << 52) - 1, seen);
+    assertEquals(Card.of(Suit.Hearts, Rank.Ten), new Card(Suit.Hearts, Rank.Ten));
+    assertEquals(Card.of(Suit.Hearts, Rank.Ten).hashCode(),
+            new Card(Suit.Hearts, Rank.Ten).hashCode());
+  }
+
+  @Test
+  public void testFork() {
+    deck.burnCards(10);
+    List<Card> remaining = deck.allCards();
+
+    Deck fork = deck.fork();
+    assertEquals(remaining, fork.allCards());
+
+    Card drawn = fork.drawAtPosition(5);
+    assertEquals(42, deck.remainingCards());
+    assertEquals(remaining, deck.allCards());
+    assertEquals(41, fork.remainingCards());
+    assertFalse(fork.allCards().contains(drawn));
+
+    deck.drawCard();
+    assertEquals(41, fork.remainingCards());
+    assertFalse(fork.allCards().contains(drawn));
+  }
 }